@@ -0,0 +1,13 @@
+package com.surikat.booksDemoApp.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveBooksDemoAppApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveBooksDemoAppApplication.class, args);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.surikat.booksDemoApp.reactive.config;
+
+import com.surikat.booksDemoApp.reactive.handlers.AuthorHandler;
+import com.surikat.booksDemoApp.reactive.handlers.BookHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class RouterConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> authorRoutes(AuthorHandler authorHandler) {
+        return route()
+                .POST("/authors", authorHandler::createAuthor)
+                .GET("/authors", authorHandler::getAuthors)
+                .GET("/authors/{id}", authorHandler::getAuthor)
+                .PUT("/authors/{id}", authorHandler::fullUpdateAuthor)
+                .PATCH("/authors/{id}", authorHandler::partialUpdateAuthor)
+                .DELETE("/authors/{id}", authorHandler::deleteAuthor)
+                .build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> bookRoutes(BookHandler bookHandler) {
+        return route()
+                .POST("/books", bookHandler::createBook)
+                .GET("/books", bookHandler::getBooks)
+                .GET("/books/{id}", bookHandler::getBook)
+                .PUT("/books/{id}", bookHandler::fullUpdateBook)
+                .PATCH("/books/{id}", bookHandler::partialUpdateBook)
+                .DELETE("/books/{id}", bookHandler::deleteBook)
+                .build();
+    }
+}
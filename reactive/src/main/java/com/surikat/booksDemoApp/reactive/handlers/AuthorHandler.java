@@ -0,0 +1,69 @@
+package com.surikat.booksDemoApp.reactive.handlers;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.reactive.repositories.AuthorReactiveRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+@Component
+public class AuthorHandler {
+
+    private final AuthorReactiveRepository authorRepository;
+
+    public AuthorHandler(AuthorReactiveRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    public Mono<ServerResponse> createAuthor(ServerRequest request) {
+        return request.bodyToMono(AuthorDto.class)
+                .flatMap(authorRepository::create)
+                .flatMap(author -> ServerResponse.status(HttpStatus.CREATED).bodyValue(author));
+    }
+
+    public Mono<ServerResponse> getAuthors(ServerRequest request) {
+        Optional<Paging.Page> page = Paging.parse(request);
+        if (page.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return Paging.list(request, authorRepository.findAll(page.get().offset(), page.get().size()), AuthorDto.class);
+    }
+
+    public Mono<ServerResponse> getAuthor(ServerRequest request) {
+        return authorRepository.findById(id(request))
+                .flatMap(author -> ServerResponse.ok().bodyValue(author))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> fullUpdateAuthor(ServerRequest request) {
+        return request.bodyToMono(AuthorDto.class)
+                .flatMap(author -> authorRepository.fullUpdate(id(request), author))
+                .flatMap(author -> ServerResponse.ok().bodyValue(author))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> partialUpdateAuthor(ServerRequest request) {
+        return request.bodyToMono(AuthorDto.class)
+                .flatMap(author -> authorRepository.partialUpdate(id(request), author))
+                .flatMap(author -> ServerResponse.ok().bodyValue(author))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // The books foreign key refuses to delete an author who still has books
+    public Mono<ServerResponse> deleteAuthor(ServerRequest request) {
+        return authorRepository.deleteById(id(request))
+                .then(ServerResponse.noContent().build())
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> ServerResponse.status(HttpStatus.CONFLICT).build());
+    }
+
+    private static Long id(ServerRequest request) {
+        return Long.valueOf(request.pathVariable("id"));
+    }
+}
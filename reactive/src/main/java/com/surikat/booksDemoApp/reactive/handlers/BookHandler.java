@@ -0,0 +1,69 @@
+package com.surikat.booksDemoApp.reactive.handlers;
+
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.reactive.repositories.BookReactiveRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+@Component
+public class BookHandler {
+
+    private final BookReactiveRepository bookRepository;
+
+    public BookHandler(BookReactiveRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    public Mono<ServerResponse> createBook(ServerRequest request) {
+        return request.bodyToMono(BookDto.class)
+                .flatMap(bookRepository::create)
+                .flatMap(book -> ServerResponse.status(HttpStatus.CREATED).bodyValue(book))
+                .onErrorResume(DataIntegrityViolationException.class, e -> ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> getBooks(ServerRequest request) {
+        Optional<Paging.Page> page = Paging.parse(request);
+        if (page.isEmpty()) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return Paging.list(request, bookRepository.findAll(page.get().offset(), page.get().size()), BookDto.class);
+    }
+
+    public Mono<ServerResponse> getBook(ServerRequest request) {
+        return bookRepository.findById(id(request))
+                .flatMap(book -> ServerResponse.ok().bodyValue(book))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> fullUpdateBook(ServerRequest request) {
+        return request.bodyToMono(BookDto.class)
+                .flatMap(book -> bookRepository.fullUpdate(id(request), book))
+                .flatMap(book -> ServerResponse.ok().bodyValue(book))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(DataIntegrityViolationException.class, e -> ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> partialUpdateBook(ServerRequest request) {
+        return request.bodyToMono(BookDto.class)
+                .flatMap(book -> bookRepository.partialUpdate(id(request), book))
+                .flatMap(book -> ServerResponse.ok().bodyValue(book))
+                .switchIfEmpty(ServerResponse.notFound().build())
+                .onErrorResume(DataIntegrityViolationException.class, e -> ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> deleteBook(ServerRequest request) {
+        return bookRepository.deleteById(id(request))
+                .then(ServerResponse.noContent().build());
+    }
+
+    private static Long id(ServerRequest request) {
+        return Long.valueOf(request.pathVariable("id"));
+    }
+}
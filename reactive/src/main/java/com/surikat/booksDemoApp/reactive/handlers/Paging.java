@@ -0,0 +1,45 @@
+package com.surikat.booksDemoApp.reactive.handlers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+final class Paging {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private Paging() {
+    }
+
+    record Page(int page, int size) {
+        long offset() {
+            return (long) page * size;
+        }
+    }
+
+    static Optional<Page> parse(ServerRequest request) {
+        try {
+            int page = request.queryParam("page").map(Integer::parseInt).orElse(0);
+            int size = request.queryParam("size").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE);
+            if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+                return Optional.empty();
+            }
+            return Optional.of(new Page(page, size));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    // NDJSON writes every row as soon as it is read, a JSON array is still encoded element by element
+    static <T> Mono<ServerResponse> list(ServerRequest request, Flux<T> items, Class<T> type) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(items, type);
+    }
+}
@@ -0,0 +1,91 @@
+package com.surikat.booksDemoApp.reactive.repositories;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Repository
+public class AuthorReactiveRepository {
+
+    private static final String SELECT_AUTHOR = "select a.id, a.name, a.birthdate from authors a";
+
+    private final DatabaseClient databaseClient;
+    private final Sequences sequences;
+
+    public AuthorReactiveRepository(DatabaseClient databaseClient, Sequences sequences) {
+        this.databaseClient = databaseClient;
+        this.sequences = sequences;
+    }
+
+    public Flux<AuthorDto> findAll(long offset, int limit) {
+        return databaseClient.sql(SELECT_AUTHOR + " order by a.id limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(AuthorReactiveRepository::toDto)
+                .all();
+    }
+
+    public Mono<AuthorDto> findById(Long id) {
+        return databaseClient.sql(SELECT_AUTHOR + " where a.id = :id")
+                .bind("id", id)
+                .map(AuthorReactiveRepository::toDto)
+                .one();
+    }
+
+    public Mono<AuthorDto> create(AuthorDto author) {
+        return sequences.next("author_id_seq")
+                .flatMap(id -> databaseClient.sql("insert into authors (id, name, birthdate, version, updated_at) " +
+                                "values (:id, :name, :birthdate, 0, :updatedAt)")
+                        .bind("id", id)
+                        .bind("name", Parameter.fromOrEmpty(author.getName(), String.class))
+                        .bind("birthdate", Parameter.fromOrEmpty(author.getBirthdate(), LocalDate.class))
+                        .bind("updatedAt", OffsetDateTime.now())
+                        .then()
+                        .then(findById(id)));
+    }
+
+    // Empty when there is no author with this id
+    public Mono<AuthorDto> fullUpdate(Long id, AuthorDto author) {
+        return databaseClient.sql("update authors set name = :name, birthdate = :birthdate, " +
+                        "version = version + 1, updated_at = :updatedAt where id = :id")
+                .bind("id", id)
+                .bind("name", Parameter.fromOrEmpty(author.getName(), String.class))
+                .bind("birthdate", Parameter.fromOrEmpty(author.getBirthdate(), LocalDate.class))
+                .bind("updatedAt", OffsetDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> findById(id));
+    }
+
+    // Fields left null keep their stored value
+    public Mono<AuthorDto> partialUpdate(Long id, AuthorDto author) {
+        return databaseClient.sql("update authors set name = coalesce(:name, name), birthdate = coalesce(:birthdate, birthdate), " +
+                        "version = version + 1, updated_at = :updatedAt where id = :id")
+                .bind("id", id)
+                .bind("name", Parameter.fromOrEmpty(author.getName(), String.class))
+                .bind("birthdate", Parameter.fromOrEmpty(author.getBirthdate(), LocalDate.class))
+                .bind("updatedAt", OffsetDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> findById(id));
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("delete from authors where id = :id")
+                .bind("id", id)
+                .then();
+    }
+
+    private static AuthorDto toDto(Readable row) {
+        return new AuthorDto(row.get("id", Long.class), row.get("name", String.class), row.get("birthdate", LocalDate.class));
+    }
+}
@@ -0,0 +1,103 @@
+package com.surikat.booksDemoApp.reactive.repositories;
+
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Repository
+public class BookReactiveRepository {
+
+    private static final String SELECT_BOOK = "select b.id, b.title, b.description, " +
+            "a.id as author_id, a.name as author_name, a.birthdate as author_birthdate " +
+            "from books b join authors a on a.id = b.author_id";
+
+    private final DatabaseClient databaseClient;
+    private final Sequences sequences;
+
+    public BookReactiveRepository(DatabaseClient databaseClient, Sequences sequences) {
+        this.databaseClient = databaseClient;
+        this.sequences = sequences;
+    }
+
+    public Flux<BookDto> findAll(long offset, int limit) {
+        return databaseClient.sql(SELECT_BOOK + " order by b.id limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(BookReactiveRepository::toDto)
+                .all();
+    }
+
+    public Mono<BookDto> findById(Long id) {
+        return databaseClient.sql(SELECT_BOOK + " where b.id = :id")
+                .bind("id", id)
+                .map(BookReactiveRepository::toDto)
+                .one();
+    }
+
+    public Mono<BookDto> create(BookDto book) {
+        return sequences.next("book_id_seq")
+                .flatMap(id -> databaseClient.sql("insert into books (id, title, description, author_id, version, updated_at) " +
+                                "values (:id, :title, :description, :authorId, 0, :updatedAt)")
+                        .bind("id", id)
+                        .bind("title", Parameter.fromOrEmpty(book.getTitle(), String.class))
+                        .bind("description", Parameter.fromOrEmpty(book.getDescription(), String.class))
+                        .bind("authorId", Parameter.fromOrEmpty(authorId(book), Long.class))
+                        .bind("updatedAt", OffsetDateTime.now())
+                        .then()
+                        .then(findById(id)));
+    }
+
+    // Empty when there is no book with this id
+    public Mono<BookDto> fullUpdate(Long id, BookDto book) {
+        return databaseClient.sql("update books set title = :title, description = :description, author_id = :authorId, " +
+                        "version = version + 1, updated_at = :updatedAt where id = :id")
+                .bind("id", id)
+                .bind("title", Parameter.fromOrEmpty(book.getTitle(), String.class))
+                .bind("description", Parameter.fromOrEmpty(book.getDescription(), String.class))
+                .bind("authorId", Parameter.fromOrEmpty(authorId(book), Long.class))
+                .bind("updatedAt", OffsetDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> findById(id));
+    }
+
+    // Fields left null keep their stored value
+    public Mono<BookDto> partialUpdate(Long id, BookDto book) {
+        return databaseClient.sql("update books set title = coalesce(:title, title), " +
+                        "description = coalesce(:description, description), author_id = coalesce(:authorId, author_id), " +
+                        "version = version + 1, updated_at = :updatedAt where id = :id")
+                .bind("id", id)
+                .bind("title", Parameter.fromOrEmpty(book.getTitle(), String.class))
+                .bind("description", Parameter.fromOrEmpty(book.getDescription(), String.class))
+                .bind("authorId", Parameter.fromOrEmpty(authorId(book), Long.class))
+                .bind("updatedAt", OffsetDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> findById(id));
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("delete from books where id = :id")
+                .bind("id", id)
+                .then();
+    }
+
+    private static Long authorId(BookDto book) {
+        return book.getAuthor() != null ? book.getAuthor().getId() : null;
+    }
+
+    private static BookDto toDto(Readable row) {
+        return new BookDto(row.get("id", Long.class), row.get("title", String.class), row.get("description", String.class),
+                row.get("author_id", Long.class), row.get("author_name", String.class),
+                row.get("author_birthdate", LocalDate.class));
+    }
+}
@@ -0,0 +1,29 @@
+package com.surikat.booksDemoApp.reactive.repositories;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+public class Sequences {
+
+    private final DatabaseClient databaseClient;
+    private final boolean postgres;
+
+    public Sequences(DatabaseClient databaseClient, ConnectionFactory connectionFactory) {
+        this.databaseClient = databaseClient;
+        this.postgres = "PostgreSQL".equals(connectionFactory.getMetadata().getName());
+    }
+
+    // The servlet application reserves blocks of ids from the same value (pooled-lo), so taking the
+    // low value of a block for a single row never collides with it
+    public Mono<Long> next(String sequence) {
+        String query = postgres
+                ? "select nextval('" + sequence + "')"
+                : "select next value for " + sequence;
+        return databaseClient.sql(query)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+}
@@ -0,0 +1,18 @@
+package com.surikat.booksDemoApp.reactive.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The in-memory database outlives a dirtied context, every new one starts from an empty schema
+@Configuration
+public class FlywayTestConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
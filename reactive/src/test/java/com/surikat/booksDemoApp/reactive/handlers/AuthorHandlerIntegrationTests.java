@@ -0,0 +1,135 @@
+package com.surikat.booksDemoApp.reactive.handlers;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureWebTestClient
+public class AuthorHandlerIntegrationTests {
+
+    private final String apiPath = "/authors";
+
+    private final WebTestClient webTestClient;
+
+    @Autowired
+    public AuthorHandlerIntegrationTests(WebTestClient webTestClient) {
+        this.webTestClient = webTestClient;
+    }
+
+    @Test
+    void testThatCreateAuthorSuccessfullyReturnsHttpStatus201AndSavedAuthor() {
+        webTestClient.post().uri(apiPath)
+                .bodyValue(createTestAuthor("Author A"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.name").isEqualTo("Author A")
+                .jsonPath("$.birthdate").isEqualTo("1980-01-01");
+    }
+
+    @Test
+    void testThatGetAuthorsStreamsNdjsonWhenRequested() {
+        create(createTestAuthor("Author A"));
+        create(createTestAuthor("Author B"));
+
+        webTestClient.get().uri(apiPath + "?size=10")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(AuthorDto.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void testThatGetAuthorsWithTooLargePageReturnsHttpStatus400() {
+        webTestClient.get().uri(apiPath + "?size=5000")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testThatGetAuthorReturnsHttpStatus404WhenNoAuthorExists() {
+        webTestClient.get().uri(apiPath + "/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testThatPartialUpdateAuthorKeepsFieldsThatAreNotSent() {
+        AuthorDto savedAuthor = create(createTestAuthor("Author A"));
+
+        webTestClient.patch().uri(apiPath + "/" + savedAuthor.getId())
+                .bodyValue(AuthorDto.builder().name("Updated").build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Updated")
+                .jsonPath("$.birthdate").isEqualTo("1980-01-01");
+    }
+
+    @Test
+    void testThatDeleteAuthorReturnsHttpStatus204AndRemovesAuthor() {
+        AuthorDto savedAuthor = create(createTestAuthor("Author A"));
+
+        webTestClient.delete().uri(apiPath + "/" + savedAuthor.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri(apiPath + "/" + savedAuthor.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testThatDeleteAuthorWithBooksReturnsHttpStatus409() {
+        AuthorDto savedAuthor = create(createTestAuthor("Author A"));
+        webTestClient.post().uri("/books")
+                .bodyValue(BookDto.builder()
+                        .title("Book A")
+                        .description("Description of Book A")
+                        .author(savedAuthor)
+                        .build())
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.delete().uri(apiPath + "/" + savedAuthor.getId())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        webTestClient.get().uri(apiPath + "/" + savedAuthor.getId())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private AuthorDto create(AuthorDto author) {
+        AuthorDto savedAuthor = webTestClient.post().uri(apiPath)
+                .bodyValue(author)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AuthorDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(savedAuthor).isNotNull();
+        return savedAuthor;
+    }
+
+    private static AuthorDto createTestAuthor(String name) {
+        return AuthorDto.builder()
+                .name(name)
+                .birthdate(LocalDate.of(1980, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.surikat.booksDemoApp.reactive.handlers;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureWebTestClient
+public class BookHandlerIntegrationTests {
+
+    private final String apiPath = "/books";
+
+    private final WebTestClient webTestClient;
+
+    @Autowired
+    public BookHandlerIntegrationTests(WebTestClient webTestClient) {
+        this.webTestClient = webTestClient;
+    }
+
+    @Test
+    void testThatCreateBookSuccessfullyReturnsSavedBookWithAuthor() {
+        AuthorDto author = createAuthor();
+
+        webTestClient.post().uri(apiPath)
+                .bodyValue(createTestBook("Book A", author))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.title").isEqualTo("Book A")
+                .jsonPath("$.author.id").isEqualTo(author.getId())
+                .jsonPath("$.author.name").isEqualTo(author.getName());
+    }
+
+    @Test
+    void testThatGetBooksReturnsRequestedPage() {
+        AuthorDto author = createAuthor();
+        for (int i = 0; i < 3; i++) {
+            create(createTestBook("Book " + i, author));
+        }
+
+        webTestClient.get().uri(apiPath + "?page=1&size=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Book 2");
+    }
+
+    @Test
+    void testThatGetBooksStreamsNdjsonWhenRequested() {
+        AuthorDto author = createAuthor();
+        create(createTestBook("Book A", author));
+
+        webTestClient.get().uri(apiPath)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BookDto.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void testThatFullUpdateBookReturnsHttpStatus404WhenNoBookExists() {
+        AuthorDto author = createAuthor();
+
+        webTestClient.put().uri(apiPath + "/99")
+                .bodyValue(createTestBook("Book A", author))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testThatFullUpdateBookReturnsUpdatedBook() {
+        AuthorDto author = createAuthor();
+        BookDto savedBook = create(createTestBook("Book A", author));
+
+        webTestClient.put().uri(apiPath + "/" + savedBook.getId())
+                .bodyValue(createTestBook("Updated", author))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(savedBook.getId())
+                .jsonPath("$.title").isEqualTo("Updated");
+    }
+
+    @Test
+    void testThatCreateBookWithUnknownAuthorReturnsHttpStatus400() {
+        webTestClient.post().uri(apiPath)
+                .bodyValue(createTestBook("Book A", AuthorDto.builder().id(99L).build()))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private AuthorDto createAuthor() {
+        AuthorDto savedAuthor = webTestClient.post().uri("/authors")
+                .bodyValue(AuthorDto.builder().name("Author A").birthdate(LocalDate.of(1980, 1, 1)).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(AuthorDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(savedAuthor).isNotNull();
+        return savedAuthor;
+    }
+
+    private BookDto create(BookDto book) {
+        BookDto savedBook = webTestClient.post().uri(apiPath)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookDto.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(savedBook).isNotNull();
+        return savedBook;
+    }
+
+    private static BookDto createTestBook(String title, AuthorDto author) {
+        return BookDto.builder()
+                .title(title)
+                .description("Description of " + title)
+                .author(author)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BenchmarkData {
+
+    private static final String DESCRIPTION = "A long and winding story about books, authors and the people "
+            + "who read them late at night while the rest of the city is asleep.";
+
+    public static AuthorEntity author(long id) {
+        return AuthorEntity.builder()
+                .id(id)
+                .name("Author " + id)
+                .birthdate(LocalDate.of(1900, 1, 1).plusDays(id % 30_000))
+                .build();
+    }
+
+    public static BookEntity book(long id, AuthorEntity author) {
+        return BookEntity.builder()
+                .id(id)
+                .title("Book number " + id)
+                .description(DESCRIPTION)
+                .author(author)
+                .build();
+    }
+
+    public static List<BookEntity> books(int count) {
+        List<BookEntity> books = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            books.add(book(i, author(i % 10 + 1)));
+        }
+        return books;
+    }
+
+    public static AuthorDto authorDto(long id) {
+        return AuthorDto.builder()
+                .id(id)
+                .name("Author " + id)
+                .birthdate(LocalDate.of(1900, 1, 1).plusDays(id % 30_000))
+                .build();
+    }
+
+    public static BookDto bookDto(long id, AuthorDto author) {
+        return BookDto.builder()
+                .id(id)
+                .title("Book number " + id)
+                .description(DESCRIPTION)
+                .author(author)
+                .build();
+    }
+
+    public static List<BookDto> bookDtos(int count) {
+        List<BookDto> books = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            books.add(bookDto(i, authorDto(i % 10 + 1)));
+        }
+        return books;
+    }
+}
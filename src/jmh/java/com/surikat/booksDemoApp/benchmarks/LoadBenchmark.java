@@ -0,0 +1,208 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import com.surikat.booksDemoApp.BooksDemoAppApplication;
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.LongStream;
+
+/**
+ * Closed-loop HTTP load against the application started once with platform threads and once with the
+ * {@code virtual-threads} profile. Every client sends its next request as soon as the previous one completes.
+ * <p>
+ * Arguments: comma separated client counts (default 1000,5000,10000) and seconds per run (default 30).
+ * The application works with the database from {@code load.jdbc-url}, {@code load.jdbc-username} and
+ * {@code load.jdbc-password} (the local PostgreSQL by default), an in-memory database never blocks on I/O and
+ * hides what the threads are waiting for. An empty database is filled with {@value #BOOKS} books.
+ * <p>
+ * In-process runs share the CPU between the clients and the server. With {@code load.target} set to the URL
+ * of an application started elsewhere only the clients run, against book ids 1..{@code load.books}.
+ */
+public class LoadBenchmark {
+
+    private static final int AUTHORS = 100;
+    private static final int BOOKS = 5_000;
+
+    public static void main(String[] args) {
+        int[] clientCounts = Arrays.stream((args.length > 0 ? args[0] : "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 30);
+
+        System.out.printf("%-10s %8s %12s %10s %10s %10s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+        String target = System.getProperty("load.target", "");
+        if (!target.isBlank()) {
+            long[] bookIds = LongStream.rangeClosed(1, Long.getLong("load.books", BOOKS)).toArray();
+            for (int clients : clientCounts) {
+                print("remote", clients, duration, run(URI.create(target), bookIds, clients, duration));
+            }
+            return;
+        }
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                URI base = URI.create("http://localhost:"
+                        + ((WebServerApplicationContext) context).getWebServer().getPort());
+                long[] bookIds = context.getBean(JdbcTemplate.class)
+                        .queryForList("select id from books order by id limit " + BOOKS, Long.class).stream()
+                        .mapToLong(Long::longValue)
+                        .toArray();
+                for (int clients : clientCounts) {
+                    print(virtualThreads ? "virtual" : "platform", clients, duration,
+                            run(base, bookIds, clients, duration));
+                }
+            }
+        }
+    }
+
+    private static void print(String mode, int clients, Duration duration, Result result) {
+        System.out.printf("%-10s %8d %12.0f %10.2f %10.2f %10d%n", mode, clients,
+                result.requests() / (double) duration.toSeconds(),
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors());
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + System.getProperty("load.jdbc-url",
+                        "jdbc:postgresql://localhost:5432/booksDemoApp"),
+                "--spring.datasource.username=" + System.getProperty("load.jdbc-username", "test"),
+                "--spring.datasource.password=" + System.getProperty("load.jdbc-password", "test"),
+                "--server.port=0"));
+        if (virtualThreads) {
+            args.add("--spring.profiles.active=virtual-threads");
+        } else {
+            // Same connection limits as the profile, the runs differ only in threads and the pool
+            args.add("--server.tomcat.max-connections=20000");
+            args.add("--server.tomcat.accept-count=1000");
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BooksDemoAppApplication.class)
+                .run(args.toArray(String[]::new));
+        if (context.getBean(JdbcTemplate.class).queryForObject("select count(*) from books", Long.class) == 0) {
+            seed(context);
+        }
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        AuthorService authorService = context.getBean(AuthorService.class);
+        BookService bookService = context.getBean(BookService.class);
+
+        List<AuthorEntity> authors = new ArrayList<>(AUTHORS);
+        for (int i = 1; i <= AUTHORS; i++) {
+            authors.add(BenchmarkData.author(i));
+        }
+        authors = authorService.createAll(authors).stream().map(BatchItemResult::getItem).toList();
+
+        List<BookEntity> books = new ArrayList<>(BOOKS);
+        for (int i = 1; i <= BOOKS; i++) {
+            books.add(BenchmarkData.book(i, authors.get(i % AUTHORS)));
+        }
+        bookService.createAll(books);
+    }
+
+    private static Result run(URI base, long[] bookIds, int clients, Duration duration) {
+        // The driver itself runs on virtual threads so that it is never the bottleneck
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(nextRequest(base, bookIds),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        histogram.record(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+
+        return new Result(histogram, errors.get());
+    }
+
+    // Mix of the two hottest reads: a single book and the first page of the list
+    private static HttpRequest nextRequest(URI base, long[] bookIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = random.nextInt(10) < 8
+                ? "/books/" + bookIds[random.nextInt(bookIds.length)]
+                : "/books?size=20&total=cached";
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private record Result(LatencyHistogram histogram, long errors) {
+
+        long requests() {
+            return histogram.count();
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.percentileMicros(percentile) / 1_000.0;
+        }
+    }
+
+    // 100 microsecond buckets up to 10 seconds, slower requests land in the last bucket
+    private static class LatencyHistogram {
+        private static final int BUCKET_MICROS = 100;
+        private static final int BUCKETS = 100_000;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos) {
+            counts.incrementAndGet((int) Math.min(nanos / 1_000 / BUCKET_MICROS, BUCKETS - 1));
+        }
+
+        long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+
+        long percentileMicros(double percentile) {
+            long target = (long) Math.ceil(percentile * count());
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= target && seen > 0) {
+                    return (long) (i + 1) * BUCKET_MICROS;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.mappers.Impl.AuthorMapperImpl;
+import com.surikat.booksDemoApp.mappers.Impl.BookMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private AuthorMapperImpl authorMapper;
+    private BookMapperImpl bookMapper;
+    private ModelMapper modelMapper;
+
+    private AuthorEntity authorEntity;
+    private AuthorDto authorDto;
+    private BookEntity bookEntity;
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        authorMapper = new AuthorMapperImpl();
+        bookMapper = new BookMapperImpl(authorMapper);
+
+        // Configuration the mappers used before they were written by hand, kept as a baseline
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.LOOSE)
+                .setSkipNullEnabled(true);
+
+        authorEntity = BenchmarkData.author(1);
+        authorDto = BenchmarkData.authorDto(1);
+        bookEntity = BenchmarkData.book(1, authorEntity);
+        bookDto = BenchmarkData.bookDto(1, authorDto);
+    }
+
+    @Benchmark
+    public AuthorDto authorMapTo() {
+        return authorMapper.mapTo(authorEntity);
+    }
+
+    @Benchmark
+    public AuthorEntity authorMapFrom() {
+        return authorMapper.mapFrom(authorDto);
+    }
+
+    @Benchmark
+    public BookDto bookMapTo() {
+        return bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public BookEntity bookMapFrom() {
+        return bookMapper.mapFrom(bookDto);
+    }
+
+    @Benchmark
+    public BookDto modelMapperBookMapTo() {
+        return modelMapper.map(bookEntity, BookDto.class);
+    }
+
+    @Benchmark
+    public BookEntity modelMapperBookMapFrom() {
+        return modelMapper.map(bookDto, BookEntity.class);
+    }
+}
@@ -0,0 +1,93 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost that the timers add to every timed call, against the same work without a timer.
+ * The timers are configured like the ones in application.properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private static final long WORK_TOKENS = 100;
+
+    private Timer plainTimer;
+    private Timer percentilesTimer;
+    private Timer histogramTimer;
+    private Target timedTarget;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        plainTimer = Timer.builder("plain").register(registry);
+        percentilesTimer = Timer.builder("percentiles")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        histogramTimer = Timer.builder("histogram")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Target());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        timedTarget = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public long baseline() {
+        return work();
+    }
+
+    @Benchmark
+    public long plainTimer() {
+        return plainTimer.record(MetricsBenchmark::work);
+    }
+
+    // Service timers
+    @Benchmark
+    public long percentilesTimer() {
+        return percentilesTimer.record(MetricsBenchmark::work);
+    }
+
+    // http.server.requests
+    @Benchmark
+    public long histogramTimer() {
+        return histogramTimer.record(MetricsBenchmark::work);
+    }
+
+    // The whole @Timed path of the services, proxy and aspect included
+    @Benchmark
+    public long timedAspect() {
+        return timedTarget.work();
+    }
+
+    private static long work() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+        return WORK_TOKENS;
+    }
+
+    public static class Target {
+        @Timed(value = "aspect", percentiles = {0.5, 0.95, 0.99})
+        public long work() {
+            return MetricsBenchmark.work();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.mappers.Impl.AuthorMapperImpl;
+import com.surikat.booksDemoApp.mappers.Impl.BookMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageMappingBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private BookMapperImpl bookMapper;
+    private Page<BookEntity> bookPage;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapperImpl(new AuthorMapperImpl());
+        bookPage = new PageImpl<>(BenchmarkData.books(pageSize), PageRequest.of(0, pageSize), 1_000_000);
+    }
+
+    @Benchmark
+    public Page<BookDto> bookPageMap() {
+        return bookPage.map(bookMapper::mapTo);
+    }
+
+    // Same shape as BookController.getBooks
+    @Benchmark
+    public Page<BookDto> bookPageMapAll() {
+        return bookMapper.mapAll(bookPage);
+    }
+}
@@ -0,0 +1,46 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private BookDto bookDto;
+    private Page<BookDto> bookPage;
+
+    @Setup
+    public void setUp() {
+        // Same builder Spring Boot uses for the MVC message converters
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookDto = BenchmarkData.bookDto(1, BenchmarkData.authorDto(1));
+        bookPage = new PageImpl<>(BenchmarkData.bookDtos(pageSize), PageRequest.of(0, pageSize), 1_000_000);
+    }
+
+    @Benchmark
+    public byte[] writeBookDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookDto);
+    }
+
+    @Benchmark
+    public byte[] writeBookPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+}
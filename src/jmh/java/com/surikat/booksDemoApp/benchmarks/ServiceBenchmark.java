@@ -0,0 +1,97 @@
+package com.surikat.booksDemoApp.benchmarks;
+
+import com.surikat.booksDemoApp.BooksDemoAppApplication;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.mappers.Impl.BookMapperImpl;
+import com.surikat.booksDemoApp.mappers.Mapper;
+import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    private static final int AUTHORS = 100;
+    private static final int BOOKS = 5_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private Mapper<BookEntity, BookDto> bookMapper;
+    private long bookId;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BooksDemoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver");
+
+        AuthorService authorService = context.getBean(AuthorService.class);
+        bookService = context.getBean(BookService.class);
+        bookMapper = context.getBean(BookMapperImpl.class);
+
+        List<AuthorEntity> authors = new ArrayList<>(AUTHORS);
+        for (int i = 1; i <= AUTHORS; i++) {
+            AuthorEntity author = BenchmarkData.author(i);
+            authors.add(authorService.create(author));
+        }
+        for (int i = 1; i <= BOOKS; i++) {
+            BookEntity book = bookService.create(BenchmarkData.book(i, authors.get(i % AUTHORS)));
+            bookId = book.getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Same shape as BookController.getBooks, walking through the pages
+    @Benchmark
+    public Slice<BookDto> findAllPage() {
+        page = (page + 1) % (BOOKS / pageSize);
+        return bookService.findAll(PageRequest.of(page, pageSize), CountMode.EXACT);
+    }
+
+    // Entity path kept as a baseline for the DTO projection above
+    @Benchmark
+    public Page<BookDto> findAllPageEntities() {
+        page = (page + 1) % (BOOKS / pageSize);
+        Page<BookEntity> foundBooks = bookService.findAll(PageRequest.of(page, pageSize));
+        return bookMapper.mapAll(foundBooks);
+    }
+
+    @Benchmark
+    public BookDto findById() {
+        return bookService.findVersionedDtoById(bookId).orElseThrow().getValue();
+    }
+
+    @Benchmark
+    public BookDto findByIdEntity() {
+        return bookService.findById(bookId).map(bookMapper::mapTo).orElseThrow();
+    }
+}
@@ -0,0 +1,12 @@
+package com.surikat.booksDemoApp.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+}
@@ -0,0 +1,36 @@
+package com.surikat.booksDemoApp.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Component
+public class DatabasePlatform {
+
+    private final DataSource dataSource;
+    private volatile String productName;
+
+    public DatabasePlatform(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public boolean isPostgres() {
+        return "PostgreSQL".equals(getProductName());
+    }
+
+    public String getProductName() {
+        String name = productName;
+        if (name == null) {
+            try {
+                name = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Could not detect the database platform", e);
+            }
+            productName = name;
+        }
+        return name;
+    }
+}
@@ -0,0 +1,58 @@
+package com.surikat.booksDemoApp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surikat.booksDemoApp.diagnostics.MappingPhaseAspect;
+import com.surikat.booksDemoApp.diagnostics.RepositoryCallContext;
+import com.surikat.booksDemoApp.diagnostics.ServerTimingFilter;
+import com.surikat.booksDemoApp.diagnostics.TimedJackson2HttpMessageConverter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration
+public class DiagnosticsConfig {
+
+    // Tags and times each repository call, for the slow query log, Server-Timing and JFR
+    @Bean
+    public static BeanPostProcessor repositoryCallContextPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    RepositoryCallContext.interceptor(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+    static class ServerTimingConfig {
+
+        @Bean
+        public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+            FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+            return registration;
+        }
+
+        @Bean
+        public MappingPhaseAspect mappingPhaseAspect() {
+            return new MappingPhaseAspect();
+        }
+
+        // Takes the place of the converter Spring Boot would otherwise register
+        @Bean
+        public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+            return new TimedJackson2HttpMessageConverter(objectMapper);
+        }
+    }
+}
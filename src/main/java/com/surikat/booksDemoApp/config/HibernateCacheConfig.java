@@ -0,0 +1,51 @@
+package com.surikat.booksDemoApp.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(CacheRegionProperties.class)
+public class HibernateCacheConfig {
+
+    // The default manager is shared by everything on the class loader, so every context gets its own under a
+    // unique URI. Test contexts live side by side in one JVM and must neither clash on region names nor close
+    // each other's regions
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheRegionProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("hibernate-l2:" + UUID.randomUUID()),
+                provider.getDefaultClassLoader(), new Properties());
+
+        properties.getRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setStatisticsEnabled(true);
+            if (region.getMaximumSize() != null) {
+                configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+            }
+            if (region.getTimeToLive() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+            }
+            cacheManager.createCache(name, configuration);
+        });
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,42 @@
+package com.surikat.booksDemoApp.config;
+
+import com.surikat.booksDemoApp.diagnostics.QueryCountingDataSource;
+import com.surikat.booksDemoApp.diagnostics.QueryStatsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// Development aid, enabled by app.query-stats.enabled in the dev profile and in tests
+@Configuration
+@ConditionalOnProperty(name = "app.query-stats.enabled", havingValue = "true")
+public class QueryStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Outermost, so that the headers also cover filters that buffer the body
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            @Value("${app.query-stats.repeat-threshold:10}") int repeatThreshold) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,22 @@
+package com.surikat.booksDemoApp.config;
+
+import com.surikat.booksDemoApp.services.DatasetGeneratorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Command line entry point of the dataset generator, see application-seed.properties
+@Configuration
+@Profile("seed")
+public class SeedConfig {
+
+    @Bean
+    public ApplicationRunner datasetGeneratorRunner(DatasetGeneratorService datasetGeneratorService,
+                                                    @Value("${app.seed.authors}") int authors,
+                                                    @Value("${app.seed.books}") long books,
+                                                    @Value("${app.seed.random-seed}") long seed) {
+        return args -> datasetGeneratorService.generate(authors, books, seed);
+    }
+}
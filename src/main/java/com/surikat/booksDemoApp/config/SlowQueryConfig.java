@@ -0,0 +1,44 @@
+package com.surikat.booksDemoApp.config;
+
+import com.surikat.booksDemoApp.diagnostics.SlowQueryDataSource;
+import com.surikat.booksDemoApp.diagnostics.SlowQueryEndpoint;
+import com.surikat.booksDemoApp.diagnostics.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Development aid like QueryStatsConfig, every statement goes through a reflective proxy and keeps its bind values
+@Configuration
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true")
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+        return new SlowQueryLog(properties.getThreshold(), properties.isRedactParameters(),
+                properties.getExplainSampleRate(), properties.getBufferSize());
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.surikat.booksDemoApp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.slow-query")
+public class SlowQueryProperties {
+
+    private Duration threshold = Duration.ofMillis(200);
+
+    // Only the types of the bind values are logged, as they may hold personal data
+    private boolean redactParameters = true;
+
+    // Share of slow reads run again under EXPLAIN ANALYZE on PostgreSQL, none by default
+    private double explainSampleRate = 0.0;
+
+    // Slow statements kept for /actuator/slowqueries
+    private int bufferSize = 100;
+}
@@ -0,0 +1,55 @@
+package com.surikat.booksDemoApp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final Set<String> EXPORT_PATHS = Set.of("/books/export", "/authors/export");
+
+    private final Duration exportTimeout;
+
+    public WebConfig(@Value("${app.export.timeout:1h}") Duration exportTimeout) {
+        this.exportTimeout = exportTimeout;
+    }
+
+    // Lists have no single version to check, so their ETag is a hash of the rendered body
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/books", "/authors");
+        return registration;
+    }
+
+    // Exports stream for as long as reading the table takes, the default async timeout (30 s on Tomcat) would cut
+    // them off mid-stream. The timeout can only be changed before the async request starts, which is right here
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+                if (request instanceof AsyncWebRequest asyncRequest && servletRequest != null
+                        && EXPORT_PATHS.contains(servletRequest.getRequestURI()
+                        .substring(servletRequest.getContextPath().length()))) {
+                    asyncRequest.setTimeout(exportTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -1,28 +1,62 @@
 package com.surikat.booksDemoApp.controllers;
 
+import com.surikat.booksDemoApp.domain.AuthorBooksPage;
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.ResourceVersion;
+import com.surikat.booksDemoApp.domain.Versioned;
+import com.surikat.booksDemoApp.domain.Suggestion;
 import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
 import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookService;
+import com.surikat.booksDemoApp.services.ExportService;
+import com.surikat.booksDemoApp.services.SuggestService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 public class AuthorController {
 
+    private static final Set<String> KEYSET_SORT_KEYS = Set.of("id", "name");
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final AuthorService authorService;
     private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private final ExportService exportService;
+    private final SuggestService suggestService;
+    private final BookService bookService;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+    public AuthorController(AuthorService authorService,
+                            Mapper<AuthorEntity, AuthorDto> authorMapper,
+                            ExportService exportService,
+                            SuggestService suggestService,
+                            BookService bookService) {
         this.authorService = authorService;
         this.authorMapper = authorMapper;
+        this.exportService = exportService;
+        this.suggestService = suggestService;
+        this.bookService = bookService;
     }
 
     @PostMapping(path = "/authors")
@@ -32,42 +66,161 @@ public class AuthorController {
         return new ResponseEntity<>(authorMapper.mapTo(savedAuthor), HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/authors/batch")
+    public ResponseEntity<List<BatchItemResult<AuthorDto>>> createAuthors(@RequestBody List<AuthorDto> authors) {
+        if (authors.isEmpty() || authors.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<AuthorEntity> authorEntities = authors.stream()
+                .map(authorMapper::mapFrom)
+                .collect(Collectors.toList());
+        List<BatchItemResult<AuthorEntity>> results = authorService.createAll(authorEntities);
+        return new ResponseEntity<>(results.stream()
+                .map(result -> result.map(authorMapper::mapTo))
+                .collect(Collectors.toList()), HttpStatus.OK);
+    }
+
     @GetMapping(path = "/authors")
-    public Page<AuthorDto> getAuthors(Pageable pageable) {
-        Page<AuthorEntity> foundAuthors = authorService.findAll(pageable);
-        return foundAuthors.map(authorMapper::mapTo);
+    public ResponseEntity<Slice<AuthorDto>> getAuthors(Pageable pageable,
+                                                       @RequestParam(name = "total", defaultValue = "exact") String total) {
+        Optional<CountMode> countMode = CountMode.parse(total);
+        if (countMode.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Slice<AuthorDto> foundAuthors = authorService.findAll(pageable, countMode.get());
+        return new ResponseEntity<>(foundAuthors, HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/authors", params = "after")
+    public ResponseEntity<KeysetPage<AuthorDto>> getAuthorsAfter(@RequestParam("after") String after,
+                                                                 @RequestParam(name = "size", defaultValue = "20") int size,
+                                                                 @RequestParam(name = "sort", defaultValue = "id") String sort) {
+        Optional<KeysetCursor> cursor = after.isEmpty()
+                ? Optional.of(KeysetCursor.first(sort))
+                : KeysetCursor.decode(after);
+        if (cursor.isEmpty() || !KEYSET_SORT_KEYS.contains(cursor.get().getSortKey())
+                || size < 1 || size > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        KeysetPage<AuthorDto> foundAuthors = authorService.findAll(cursor.get(), size);
+        return new ResponseEntity<>(foundAuthors, HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/authors/suggest")
+    public ResponseEntity<List<Suggestion>> suggestAuthors(@RequestParam("prefix") String prefix,
+                                                           @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1 || limit > MAX_SUGGESTIONS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(suggestService.suggestAuthorNames(prefix, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/authors/export")
+    public ResponseEntity<StreamingResponseBody> exportAuthors(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        Optional<DataFormat> dataFormat = DataFormat.parse(format);
+        if (dataFormat.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        StreamingResponseBody body = out -> exportService.exportAuthors(dataFormat.get(), out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(dataFormat.get().getContentType()))
+                .body(body);
     }
 
     @GetMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> GetAuthorById(@PathVariable("id") Long id) {
-        Optional<AuthorEntity> foundAuthor = authorService.findById(id);
+    public ResponseEntity<AuthorDto> GetAuthorById(@PathVariable("id") Long id, WebRequest request) {
+        Optional<Versioned<AuthorDto>> foundAuthor = authorService.findVersionedDtoById(id);
+        if (foundAuthor.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        ResourceVersion version = foundAuthor.get().getVersion();
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
 
-        return foundAuthor.map(authorEntity -> {
-            AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-            return new ResponseEntity<>(authorDto, HttpStatus.OK);
-        }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        return new ResponseEntity<>(foundAuthor.get().getValue(), HttpStatus.OK);
     }
 
-    @PutMapping(path = "/authors/{id}")
-    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto author) {
-        if (!authorService.isExists(id)) {
+    @GetMapping(path = "/authors/{id}/books")
+    public ResponseEntity<KeysetPage<BookDto>> getAuthorBooks(@PathVariable("id") Long id,
+                                                              @RequestParam(name = "after", defaultValue = "") String after,
+                                                              @RequestParam(name = "size", defaultValue = "20") int size) {
+        Optional<KeysetCursor> cursor = authorBooksCursor(after, size);
+        if (cursor.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        KeysetPage<BookDto> foundBooks = bookService.findAllByAuthor(id, cursor.get(), size, true);
+        // Only an empty page needs to know whether the author is there at all
+        if (foundBooks.getContent().isEmpty() && !authorService.isExists(id)) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        return new ResponseEntity<>(foundBooks, HttpStatus.OK);
+    }
 
+    @GetMapping(path = "/authors/{id}/books", params = "envelope=true")
+    public ResponseEntity<AuthorBooksPage> getAuthorBooksEnvelope(@PathVariable("id") Long id,
+                                                                  @RequestParam(name = "after", defaultValue = "") String after,
+                                                                  @RequestParam(name = "size", defaultValue = "20") int size) {
+        Optional<KeysetCursor> cursor = authorBooksCursor(after, size);
+        if (cursor.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Optional<AuthorDto> foundAuthor = authorService.findVersionedDtoById(id).map(Versioned::getValue);
+        return foundAuthor.map(authorDto -> new ResponseEntity<>(
+                        AuthorBooksPage.of(authorDto, bookService.findAllByAuthor(id, cursor.get(), size, false)),
+                        HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // Books of one author are only paged by id, which the (author_id, id) index serves in order
+    private Optional<KeysetCursor> authorBooksCursor(String after, int size) {
+        Optional<KeysetCursor> cursor = after.isEmpty()
+                ? Optional.of(KeysetCursor.first("id"))
+                : KeysetCursor.decode(after);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Optional.empty();
+        }
+        return cursor.filter(c -> "id".equals(c.getSortKey()));
+    }
+
+    @PutMapping(path = "/authors/{id}")
+    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto author) {
         AuthorEntity authorEntity = authorMapper.mapFrom(author);
-        AuthorEntity savedAuthor = authorService.fullUpdate(id, authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(savedAuthor), HttpStatus.OK);
+        try {
+            return authorService.fullUpdate(id, authorEntity)
+                    .map(authorDto -> new ResponseEntity<>(authorDto, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (DataIntegrityViolationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PatchMapping(path = "/authors/{id}")
     ResponseEntity<AuthorDto> partialUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto author) {
-        if (!authorService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        AuthorEntity authorEntity = authorMapper.mapFrom(author);
+        try {
+            return authorService.partialUpdate(id, authorEntity)
+                    .map(authorDto -> new ResponseEntity<>(authorDto, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (DataIntegrityViolationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+    }
 
-        AuthorEntity authorEntity = authorMapper.mapFrom(author);
-        AuthorEntity updatedAuthorEntity = authorService.partialUpdate(id, authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(updatedAuthorEntity), HttpStatus.OK);
+    @DeleteMapping(path = "/authors", params = "ids")
+    public ResponseEntity<List<BatchItemResult<Long>>> deleteAuthors(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(authorService.deleteAll(ids), HttpStatus.OK);
     }
 
     @DeleteMapping(path = "/authors/{id}")
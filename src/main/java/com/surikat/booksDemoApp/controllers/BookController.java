@@ -1,30 +1,68 @@
 package com.surikat.booksDemoApp.controllers;
 
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.domain.ImportReport;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.ResourceVersion;
+import com.surikat.booksDemoApp.domain.Versioned;
+import com.surikat.booksDemoApp.domain.Suggestion;
 import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.dto.BookDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.domain.entities.BookEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
+import com.surikat.booksDemoApp.services.BookSearchService;
 import com.surikat.booksDemoApp.services.BookService;
+import com.surikat.booksDemoApp.services.ExportService;
+import com.surikat.booksDemoApp.services.ImportService;
+import com.surikat.booksDemoApp.services.SuggestService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 public class BookController {
 
+    private static final Set<String> KEYSET_SORT_KEYS = Set.of("id", "title");
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final BookService bookService;
     private final Mapper<BookEntity, BookDto> bookMapper;
+    private final ExportService exportService;
+    private final ImportService importService;
+    private final BookSearchService bookSearchService;
+    private final SuggestService suggestService;
 
-    public BookController(BookService bookService, Mapper<BookEntity, BookDto> bookMapper) {
+    public BookController(BookService bookService,
+                          Mapper<BookEntity, BookDto> bookMapper,
+                          ExportService exportService,
+                          ImportService importService,
+                          BookSearchService bookSearchService,
+                          SuggestService suggestService) {
         this.bookService = bookService;
         this.bookMapper = bookMapper;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.bookSearchService = bookSearchService;
+        this.suggestService = suggestService;
     }
 
     @PostMapping(path = "/books")
@@ -34,42 +72,176 @@ public class BookController {
         return new ResponseEntity<>(bookMapper.mapTo(savedBookEntity), HttpStatus.CREATED);
     }
 
+    @PostMapping(path = "/books/batch")
+    public ResponseEntity<List<BatchItemResult<BookDto>>> createBooks(@RequestBody List<BookDto> books) {
+        if (books.isEmpty() || books.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<BookEntity> bookEntities = books.stream()
+                .map(bookMapper::mapFrom)
+                .collect(Collectors.toList());
+        List<BatchItemResult<BookEntity>> results = bookService.createAll(bookEntities);
+        return new ResponseEntity<>(results.stream()
+                .map(result -> result.map(bookMapper::mapTo))
+                .collect(Collectors.toList()), HttpStatus.OK);
+    }
+
+    @PostMapping(path = "/books/import")
+    public ResponseEntity<ImportReport> importBooks(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                    InputStream body) {
+        Optional<DataFormat> dataFormat = DataFormat.parse(format);
+        if (dataFormat.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            ImportReport report = importService.importBooks(dataFormat.get(), body);
+            return new ResponseEntity<>(report,
+                    report.getError() == null ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping(path = "/books")
-    public Page<BookDto> getBooks(Pageable pageable) {
-        Page<BookEntity> foundBooks = bookService.findAll(pageable);
-        return foundBooks.map(bookMapper::mapTo);
+    public ResponseEntity<Slice<BookDto>> getBooks(Pageable pageable,
+                                                   @RequestParam(name = "total", defaultValue = "exact") String total) {
+        Optional<CountMode> countMode = CountMode.parse(total);
+        if (countMode.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Slice<BookDto> foundBooks = bookService.findAll(pageable, countMode.get());
+        return new ResponseEntity<>(foundBooks, HttpStatus.OK);
     }
 
-    @GetMapping(path = "/books/{id}")
-    public ResponseEntity<BookDto> GetAuthorById(@PathVariable("id") Long id) {
-        Optional<BookEntity> foundBook = bookService.findById(id);
+    @GetMapping(path = "/books", params = "after")
+    public ResponseEntity<KeysetPage<BookDto>> getBooksAfter(@RequestParam("after") String after,
+                                                             @RequestParam(name = "size", defaultValue = "20") int size,
+                                                             @RequestParam(name = "sort", defaultValue = "id") String sort) {
+        Optional<KeysetCursor> cursor = after.isEmpty()
+                ? Optional.of(KeysetCursor.first(sort))
+                : KeysetCursor.decode(after);
+        if (cursor.isEmpty() || !KEYSET_SORT_KEYS.contains(cursor.get().getSortKey())
+                || size < 1 || size > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
 
-        return foundBook.map(bookEntity -> {
-            BookDto bookDto = bookMapper.mapTo(bookEntity);
-            return new ResponseEntity<>(bookDto, HttpStatus.OK);
-        }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        KeysetPage<BookDto> foundBooks = bookService.findAll(cursor.get(), size);
+        return new ResponseEntity<>(foundBooks, HttpStatus.OK);
     }
 
-    @PutMapping(path = "/books/{id}")
-    public ResponseEntity<BookDto> fullUpdateBook(@PathVariable("id") Long id, @RequestBody BookDto book) {
-        if (!bookService.isExists(id)) {
+    @GetMapping(path = "/books/search")
+    public ResponseEntity<KeysetPage<BookDto>> searchBooks(@RequestParam("q") String query,
+                                                           @RequestParam(name = "after", defaultValue = "") String after,
+                                                           @RequestParam(name = "size", defaultValue = "20") int size) {
+        Optional<KeysetCursor> cursor = searchCursor(after);
+        if (query.isBlank() || cursor.isEmpty() || size < 1 || size > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(bookSearchService.search(query, cursor.get(), size), HttpStatus.OK);
+    }
+
+    // The value of a search cursor is the score of its last hit
+    private Optional<KeysetCursor> searchCursor(String after) {
+        if (after.isEmpty()) {
+            return Optional.of(KeysetCursor.first(BookSearchService.SORT_KEY));
+        }
+        return KeysetCursor.decode(after)
+                .filter(c -> BookSearchService.SORT_KEY.equals(c.getSortKey()))
+                .filter(c -> isScore(c.getValue()));
+    }
+
+    private static boolean isScore(String value) {
+        try {
+            return Float.isFinite(Float.parseFloat(value));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @GetMapping(path = "/books/suggest")
+    public ResponseEntity<List<Suggestion>> suggestBooks(@RequestParam("prefix") String prefix,
+                                                         @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1 || limit > MAX_SUGGESTIONS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(suggestService.suggestBookTitles(prefix, limit), HttpStatus.OK);
+    }
+
+    @GetMapping(path = "/books/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        Optional<DataFormat> dataFormat = DataFormat.parse(format);
+        if (dataFormat.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        StreamingResponseBody body = out -> exportService.exportBooks(dataFormat.get(), out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(dataFormat.get().getContentType()))
+                .body(body);
+    }
+
+    @GetMapping(path = "/books/{id}")
+    public ResponseEntity<BookDto> GetAuthorById(@PathVariable("id") Long id, WebRequest request) {
+        Optional<Versioned<BookDto>> foundBook = bookService.findVersionedDtoById(id);
+        if (foundBook.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
+        ResourceVersion version = foundBook.get().getVersion();
+        if (request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
 
+        return new ResponseEntity<>(foundBook.get().getValue(), HttpStatus.OK);
+    }
+
+    @PutMapping(path = "/books/{id}")
+    public ResponseEntity<BookDto> fullUpdateBook(@PathVariable("id") Long id, @RequestBody BookDto book) {
         BookEntity bookEntity = bookMapper.mapFrom(book);
-        BookEntity savedAuthor = bookService.fullUpdate(id, bookEntity);
-        return new ResponseEntity<>(bookMapper.mapTo(savedAuthor), HttpStatus.OK);
+        try {
+            return bookService.fullUpdate(id, bookEntity)
+                    .map(bookDto -> new ResponseEntity<>(bookDto, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (DataIntegrityViolationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PatchMapping(path = "/books/{id}")
     ResponseEntity<BookDto> partialUpdateBook(@PathVariable("id") Long id, @RequestBody BookDto book) {
-        if (!bookService.isExists(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        BookEntity bookEntity = bookMapper.mapFrom(book);
+        try {
+            return bookService.partialUpdate(id, bookEntity)
+                    .map(bookDto -> new ResponseEntity<>(bookDto, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (DataIntegrityViolationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+    }
 
-        BookEntity bookEntity = bookMapper.mapFrom(book);
-        BookEntity updatedBookEntity = bookService.partialUpdate(id, bookEntity);
-        return new ResponseEntity<>(bookMapper.mapTo(updatedBookEntity), HttpStatus.OK);
+    @PatchMapping(path = "/books/batch")
+    public ResponseEntity<List<BatchItemResult<Long>>> partialUpdateBooks(@RequestBody List<BookDto> books) {
+        if (books.isEmpty() || books.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<BookEntity> bookEntities = books.stream()
+                .map(bookMapper::mapFrom)
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(bookService.partialUpdateAll(bookEntities), HttpStatus.OK);
+    }
+
+    @DeleteMapping(path = "/books", params = "ids")
+    public ResponseEntity<List<BatchItemResult<Long>>> deleteBooks(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(bookService.deleteAll(ids), HttpStatus.OK);
     }
 
     @DeleteMapping(path = "/books/{id}")
@@ -0,0 +1,41 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.surikat.booksDemoApp.BookApiRequest")
+@Label("Book API Request")
+@Description("HTTP request with the time spent in the repository, mapping and serialization phases")
+@Category("Books API")
+@StackTrace(false)
+public class BookApiRequest extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Matched path pattern, e.g. /books/{id}")
+    String endpoint;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+
+    @Label("Repository Time")
+    @Timespan
+    long repositoryTime;
+
+    @Label("Mapping Time")
+    @Timespan
+    long mappingTime;
+
+    @Label("Serialization Time")
+    @Timespan
+    long serializationTime;
+}
@@ -0,0 +1,16 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.surikat.booksDemoApp.MappingPhase")
+@Label("Mapping Phase")
+@Category("Books API")
+@StackTrace(false)
+public class MappingPhase extends jdk.jfr.Event {
+
+    @Label("Mapper Method")
+    String mapperMethod;
+}
@@ -0,0 +1,33 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+public class MappingPhaseAspect {
+
+    @Around("execution(* com.surikat.booksDemoApp.mappers.Mapper+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.enter(RequestTiming.Phase.MAPPING);
+        }
+        MappingPhase event = new MappingPhase();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (timing != null) {
+                timing.exit(RequestTiming.Phase.MAPPING, System.nanoTime() - start);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.mapperMethod = joinPoint.getTarget().getClass().getSimpleName() + "."
+                        + joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.surikat.booksDemoApp.diagnostics.JdbcProxies.invoke;
+import static com.surikat.booksDemoApp.diagnostics.JdbcProxies.proxy;
+
+/**
+ * Reports every statement executed on its connections to {@link QueryStats}. Connections borrowed while no
+ * scope is open on the thread are handed out as they are, so code outside requests pays nothing.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        if (!QueryStats.isActive()) {
+            return connection;
+        }
+
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> counting(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> counting(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" -> counting(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T counting(Class<T> type, T statement, String preparedSql) {
+        return proxy(type, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("getResultSet")) {
+                return counting((ResultSet) invoke(statement, method, args));
+            }
+            if (!name.startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long elapsed = System.nanoTime() - start;
+
+            // Rows read through a result set are counted as they are fetched
+            QueryStats.recordStatement(sql, elapsed, affectedRows(result));
+            return result instanceof ResultSet resultSet ? counting(resultSet) : result;
+        });
+    }
+
+    private static ResultSet counting(ResultSet resultSet) {
+        if (resultSet == null) {
+            return null;
+        }
+
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                QueryStats.recordRow();
+            }
+            return result;
+        });
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+}
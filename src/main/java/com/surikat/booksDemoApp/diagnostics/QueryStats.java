@@ -0,0 +1,106 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements, rows and execution time of the JDBC calls made on the current thread while a scope is open.
+ * Scopes nest: a statement counts towards the innermost scope and all enclosing ones, so a test can keep
+ * its own scope open around requests that open theirs.
+ */
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QueryStats parent;
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void recordStatement(String sql, long nanos, long rows) {
+        String shape = sql == null ? "" : shape(sql);
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+            stats.rows += rows;
+            stats.nanos += nanos;
+            stats.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    static void recordRow() {
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    // Statement shapes that ran more than threshold times, the usual sign of an N+1 access pattern
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count > threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    public void reset() {
+        statements = 0;
+        rows = 0;
+        nanos = 0;
+        shapes.clear();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    // Literals and the length of IN lists do not make a statement different
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,83 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each request, reports them in response headers and warns when one statement
+ * shape repeats more often than the threshold.
+ */
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final int repeatThreshold;
+
+    public QueryStatsFilter(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (QueryStats stats = QueryStats.start()) {
+            filterChain.doFilter(request, new StatsHeaderResponse(response, stats));
+            writeHeaders(response, stats);
+
+            Map<String, Integer> repeated = stats.getRepeatedShapes(repeatThreshold);
+            repeated.forEach((shape, count) -> log.warn("{} {}: statement ran {} times, possible N+1: {}",
+                    request.getMethod(), request.getRequestURI(), count, shape));
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, QueryStats stats) {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(stats.getRows()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getNanos() / 1_000_000.0));
+    }
+
+    // Headers have to go out before the body, which starts once the controller is done with the database
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+        private final QueryStats stats;
+
+        StatsHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Names the repository method running on the current thread, e.g. {@code BookRepository.findDtoById},
+ * so that JDBC-level diagnostics can tell which call a statement came from. Each call is also timed as the
+ * repository phase of the request and reported as a {@link RepositoryPhase} JFR event.
+ */
+public final class RepositoryCallContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryCallContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static MethodInterceptor interceptor(Class<?> repositoryInterface) {
+        String prefix = repositoryInterface.getSimpleName() + ".";
+        return (MethodInvocation invocation) -> {
+            String previous = CURRENT.get();
+            String repositoryMethod = prefix + invocation.getMethod().getName();
+            CURRENT.set(repositoryMethod);
+
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null) {
+                timing.enter(RequestTiming.Phase.REPOSITORY);
+            }
+            RepositoryPhase event = new RepositoryPhase();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                if (timing != null) {
+                    timing.exit(RequestTiming.Phase.REPOSITORY, System.nanoTime() - start);
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repositoryMethod = repositoryMethod;
+                    event.commit();
+                }
+
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import java.util.Locale;
+
+/**
+ * Time spent per phase by the request running on the current thread. A phase entered again while it is
+ * already running, like a mapper calling another mapper, is only counted once.
+ */
+public final class RequestTiming implements AutoCloseable {
+
+    public enum Phase {
+        REPOSITORY("repository"),
+        MAPPING("mapping"),
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] depth = new int[Phase.values().length];
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public void enter(Phase phase) {
+        depth[phase.ordinal()]++;
+    }
+
+    public void exit(Phase phase, long elapsedNanos) {
+        if (--depth[phase.ordinal()] == 0) {
+            nanos[phase.ordinal()] += elapsedNanos;
+        }
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    // Server-Timing header value, durations in milliseconds
+    public String toHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            appendMetric(header, phase.metricName, nanos[phase.ordinal()]);
+            header.append(", ");
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Reports the phases of each request in a Server-Timing header and as a {@link BookApiRequest} JFR event.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BookApiRequest event = new BookApiRequest();
+        event.begin();
+        try (RequestTiming timing = RequestTiming.start()) {
+            try {
+                filterChain.doFilter(request, new TimingHeaderResponse(response, timing));
+                writeHeader(response, timing);
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.method = request.getMethod();
+                    event.endpoint = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    event.uri = request.getRequestURI();
+                    event.status = response.getStatus();
+                    event.repositoryTime = timing.getNanos(RequestTiming.Phase.REPOSITORY);
+                    event.mappingTime = timing.getNanos(RequestTiming.Phase.MAPPING);
+                    event.serializationTime = timing.getNanos(RequestTiming.Phase.SERIALIZATION);
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private static void writeHeader(HttpServletResponse response, RequestTiming timing) {
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, timing.toHeader());
+        }
+    }
+
+    // The body is written after serialization, so the header sent with it has every phase in it
+    private static class TimingHeaderResponse extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+
+        TimingHeaderResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader((HttpServletResponse) getResponse(), timing);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader((HttpServletResponse) getResponse(), timing);
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader((HttpServletResponse) getResponse(), timing);
+            super.flushBuffer();
+        }
+    }
+}
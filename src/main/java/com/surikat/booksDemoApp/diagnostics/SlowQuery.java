@@ -0,0 +1,20 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SlowQuery {
+    private final Instant executedAt;
+    private final String repositoryMethod;
+    private final String sql;
+    private final List<String> parameters;
+    private final double elapsedMillis;
+
+    // Only for sampled statements on PostgreSQL
+    private final String plan;
+}
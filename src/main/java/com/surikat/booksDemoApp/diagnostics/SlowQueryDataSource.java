@@ -0,0 +1,89 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.surikat.booksDemoApp.diagnostics.JdbcProxies.invoke;
+import static com.surikat.booksDemoApp.diagnostics.JdbcProxies.proxy;
+
+/**
+ * Times every statement and hands the slow ones, with their bind values, to {@link SlowQueryLog}.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+    private volatile Boolean postgres;
+
+    public SlowQueryDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> timed(Statement.class, (Statement) result, null, connection);
+                case "prepareStatement" ->
+                        timed(PreparedStatement.class, (PreparedStatement) result, (String) args[0], connection);
+                case "prepareCall" ->
+                        timed(CallableStatement.class, (CallableStatement) result, (String) args[0], connection);
+                default -> result;
+            };
+        });
+    }
+
+    private <T extends Statement> T timed(Class<T> type, T statement, String preparedSql, Connection connection) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(type, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            }
+            if (!name.startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                if (slowQueryLog.isSlow(elapsed)) {
+                    slowQueryLog.record(sql, new TreeMap<>(parameters), elapsed, isPostgres(connection),
+                            getTargetDataSource());
+                }
+            }
+        });
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        Boolean isPostgres = postgres;
+        if (isPostgres == null) {
+            isPostgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            postgres = isPostgres;
+        }
+        return isPostgres;
+    }
+}
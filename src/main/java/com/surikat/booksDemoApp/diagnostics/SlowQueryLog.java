@@ -0,0 +1,147 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Logs statements slower than the threshold and keeps the most recent ones in a bounded buffer. On PostgreSQL
+ * a sample of the slow reads is run again under EXPLAIN (ANALYZE, BUFFERS) on a background thread.
+ */
+@Slf4j
+public class SlowQueryLog implements DisposableBean {
+
+    private static final int MAX_PARAMETER_LENGTH = 100;
+    private static final Pattern READ_ONLY = Pattern.compile("(?is)^\\s*(select|with)\\b(?!.*\\b(insert|update|delete)\\b).*");
+
+    private final long thresholdNanos;
+    private final boolean redactParameters;
+    private final double explainSampleRate;
+    private final int capacity;
+    private final Deque<SlowQuery> entries;
+
+    // One EXPLAIN at a time, samples that arrive while the queue is full are dropped
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryLog(Duration threshold, boolean redactParameters, double explainSampleRate, int capacity) {
+        this.thresholdNanos = threshold.toNanos();
+        this.redactParameters = redactParameters;
+        this.explainSampleRate = explainSampleRate;
+        this.capacity = capacity;
+        this.entries = new ArrayDeque<>(capacity);
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    void record(String sql, Map<Integer, Object> parameters, long elapsedNanos,
+                boolean postgres, DataSource explainDataSource) {
+        String repositoryMethod = RepositoryCallContext.current();
+        List<String> renderedParameters = render(parameters);
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        log.warn("Slow query, {} ms in {}: {} {}", String.format(Locale.ROOT, "%.1f", elapsedMillis),
+                repositoryMethod != null ? repositoryMethod : "no repository", sql, renderedParameters);
+
+        if (postgres && sql != null && READ_ONLY.matcher(sql).matches()
+                && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            List<Object> values = new ArrayList<>(parameters.values());
+            explainExecutor.execute(() -> add(new SlowQuery(Instant.now(), repositoryMethod, sql, renderedParameters,
+                    elapsedMillis, explain(explainDataSource, sql, values))));
+        } else {
+            add(new SlowQuery(Instant.now(), repositoryMethod, sql, renderedParameters, elapsedMillis, null));
+        }
+    }
+
+    // Most recent first
+    public List<SlowQuery> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void add(SlowQuery slowQuery) {
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeLast();
+            }
+            entries.addFirst(slowQuery);
+        }
+    }
+
+    // Runs the statement again, in a read-only transaction that is rolled back
+    private static String explain(DataSource dataSource, String sql, List<Object> values) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("explain (analyze, buffers) " + sql)) {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not explain slow query {}", sql, e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private List<String> render(Map<Integer, Object> parameters) {
+        List<String> rendered = new ArrayList<>(parameters.size());
+        for (Object value : parameters.values()) {
+            rendered.add(render(value));
+        }
+        return rendered;
+    }
+
+    private String render(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        boolean printable = value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Temporal || value instanceof Date;
+        if (redactParameters || !printable) {
+            return value.getClass().getSimpleName();
+        }
+        String text = value.toString();
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+}
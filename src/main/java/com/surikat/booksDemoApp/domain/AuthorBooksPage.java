@@ -0,0 +1,21 @@
+package com.surikat.booksDemoApp.domain;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class AuthorBooksPage {
+    private final AuthorDto author;
+    private final List<BookDto> content;
+    private final int size;
+    private final String nextCursor;
+
+    public static AuthorBooksPage of(AuthorDto author, KeysetPage<BookDto> books) {
+        return new AuthorBooksPage(author, books.getContent(), books.getSize(), books.getNextCursor());
+    }
+}
@@ -0,0 +1,26 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published after authors were written, ids is null when any author may have changed
+@Getter
+@AllArgsConstructor
+public class AuthorsChangedEvent {
+    private final Collection<Long> ids;
+
+    public static AuthorsChangedEvent of(Long id) {
+        return new AuthorsChangedEvent(List.of(id));
+    }
+
+    public static AuthorsChangedEvent all() {
+        return new AuthorsChangedEvent(null);
+    }
+
+    public boolean isAll() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class BatchItemResult<T> {
+    private final int index;
+    private final Status status;
+    private final T item;
+    private final String error;
+
+    public static <T> BatchItemResult<T> created(int index, T item) {
+        return new BatchItemResult<>(index, Status.CREATED, item, null);
+    }
+
+    public static <T> BatchItemResult<T> rejected(int index, String error) {
+        return new BatchItemResult<>(index, Status.REJECTED, null, error);
+    }
+
+    public static <T> BatchItemResult<T> updated(int index, T item) {
+        return new BatchItemResult<>(index, Status.UPDATED, item, null);
+    }
+
+    public static <T> BatchItemResult<T> deleted(int index, T item) {
+        return new BatchItemResult<>(index, Status.DELETED, item, null);
+    }
+
+    public static <T> BatchItemResult<T> notFound(int index, T item) {
+        return new BatchItemResult<>(index, Status.NOT_FOUND, item, null);
+    }
+
+    public static <T> BatchItemResult<T> rejected(int index, T item, String error) {
+        return new BatchItemResult<>(index, Status.REJECTED, item, error);
+    }
+
+    public <U> BatchItemResult<U> map(Function<? super T, ? extends U> converter) {
+        return new BatchItemResult<>(index, status, item != null ? converter.apply(item) : null, error);
+    }
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        REJECTED
+    }
+}
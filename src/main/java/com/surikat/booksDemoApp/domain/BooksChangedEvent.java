@@ -0,0 +1,26 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+// Published after books were written, ids is null when any book may have changed
+@Getter
+@AllArgsConstructor
+public class BooksChangedEvent {
+    private final Collection<Long> ids;
+
+    public static BooksChangedEvent of(Long id) {
+        return new BooksChangedEvent(List.of(id));
+    }
+
+    public static BooksChangedEvent all() {
+        return new BooksChangedEvent(null);
+    }
+
+    public boolean isAll() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.surikat.booksDemoApp.domain;
+
+import java.util.Optional;
+
+public enum CountMode {
+    EXACT,
+    CACHED,
+    ESTIMATED,
+    NONE;
+
+    public static Optional<CountMode> parse(String value) {
+        for (CountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
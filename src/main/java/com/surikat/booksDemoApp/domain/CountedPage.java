@@ -0,0 +1,42 @@
+package com.surikat.booksDemoApp.domain;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public static <T> CountedPage<T> of(Slice<T> slice, Supplier<TotalCount> totalCount) {
+        Pageable pageable = slice.getPageable();
+        List<T> content = slice.getContent();
+
+        // On the last page the total is known without asking for it
+        if (!slice.hasNext() && (!content.isEmpty() || slice.isFirst())) {
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            return new CountedPage<>(content, pageable, offset + content.size(), true);
+        }
+
+        TotalCount total = totalCount.get();
+        return new CountedPage<>(content, pageable, total.getValue(), total.isExact());
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    @Override
+    public <U> CountedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new CountedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), totalExact);
+    }
+}
@@ -0,0 +1,24 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+
+@Getter
+@AllArgsConstructor
+public enum DataFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    public static Optional<DataFormat> parse(String value) {
+        for (DataFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
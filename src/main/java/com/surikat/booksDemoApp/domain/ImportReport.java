@@ -0,0 +1,24 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ImportReport {
+    private final long processed;
+    private final long imported;
+    private final long rejected;
+    private final List<Reject> rejects;
+    // Set when the import stopped early, the counts above cover the committed chunks only
+    private final String error;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Reject {
+        private final long row;
+        private final String error;
+    }
+}
@@ -0,0 +1,46 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    private final String sortKey;
+    private final Long id;
+    private final String value;
+
+    public static KeysetCursor first(String sortKey) {
+        return new KeysetCursor(sortKey, null, null);
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public KeysetCursor next(Long id, String value) {
+        return new KeysetCursor(sortKey, id, value);
+    }
+
+    public String encode() {
+        String raw = sortKey + ":" + id + ":" + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<KeysetCursor> decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3) {
+                return Optional.empty();
+            }
+            return Optional.of(new KeysetCursor(parts[0], Long.valueOf(parts[1]), parts[2]));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
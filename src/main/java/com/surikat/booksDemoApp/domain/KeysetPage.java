@@ -0,0 +1,37 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, size, null);
+        }
+
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, size, cursorOf.apply(content.get(size - 1)).encode());
+    }
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        List<U> mapped = new ArrayList<>(content.size());
+        for (T item : content) {
+            mapped.add(converter.apply(item));
+        }
+        return new KeysetPage<>(mapped, size, nextCursor);
+    }
+}
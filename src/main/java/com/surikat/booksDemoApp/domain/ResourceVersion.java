@@ -0,0 +1,26 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+    private final String eTag;
+    private final long lastModified;
+
+    public ResourceVersion(Long version, Instant updatedAt) {
+        this(String.valueOf(version), toMillis(updatedAt));
+    }
+
+    // A book is rendered together with its author, so either row changing changes the representation
+    public ResourceVersion(Long version, Instant updatedAt, Long authorVersion, Instant authorUpdatedAt) {
+        this(version + "." + authorVersion, Math.max(toMillis(updatedAt), toMillis(authorUpdatedAt)));
+    }
+
+    private static long toMillis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,11 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TotalCount {
+    private final long value;
+    private final boolean exact;
+}
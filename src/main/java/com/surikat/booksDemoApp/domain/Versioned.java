@@ -0,0 +1,13 @@
+package com.surikat.booksDemoApp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A representation together with the version it was read at, cached as one entry so that a conditional GET
+// is answered without going to the database
+@Getter
+@AllArgsConstructor
+public class Versioned<T> {
+    private final T value;
+    private final ResourceVersion version;
+}
@@ -1,10 +1,13 @@
 package com.surikat.booksDemoApp.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,5 +16,16 @@ public class BookDto {
     private Long id;
     private String title;
     private String description;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private AuthorDto author;
+
+    // Without the author, for responses that carry it once next to the books
+    public BookDto(Long id, String title, String description) {
+        this(id, title, description, null);
+    }
+
+    public BookDto(Long id, String title, String description,
+                   Long authorId, String authorName, LocalDate authorBirthdate) {
+        this(id, title, description, new AuthorDto(authorId, authorName, authorBirthdate));
+    }
 }
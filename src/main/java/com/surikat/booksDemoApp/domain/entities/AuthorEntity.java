@@ -2,8 +2,14 @@ package com.surikat.booksDemoApp.domain.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -14,11 +20,16 @@ import java.util.Objects;
 @Builder
 @ToString
 @Entity
-@Table(name = "authors")
+@BatchSize(size = 100)
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+@Table(name = "authors", indexes = @Index(name = "authors_name_id_idx", columnList = "name, id"))
 public class AuthorEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
+    @SequenceGenerator(name = "author_id_seq", sequenceName = "author_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 64)
@@ -27,6 +38,12 @@ public class AuthorEntity {
     @Column(nullable = false)
     private LocalDate birthdate;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) {
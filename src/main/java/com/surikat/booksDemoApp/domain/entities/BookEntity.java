@@ -2,8 +2,13 @@ package com.surikat.booksDemoApp.domain.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.proxy.HibernateProxy;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @AllArgsConstructor
@@ -13,11 +18,18 @@ import java.util.Objects;
 @Builder
 @ToString
 @Entity
-@Table(name = "books")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "books_title_id_idx", columnList = "title, id"),
+        @Index(name = "books_author_id_id_idx", columnList = "author_id, id")
+})
 public class BookEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_id_seq")
+    @SequenceGenerator(name = "book_id_seq", sequenceName = "book_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 128)
@@ -26,10 +38,17 @@ public class BookEntity {
     @Column(nullable = false, length = 512)
     private String description;
 
-    @ManyToOne(cascade = CascadeType.REMOVE)
+    @ManyToOne(cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "author_id")
+    @ToString.Exclude
     private AuthorEntity author;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) {
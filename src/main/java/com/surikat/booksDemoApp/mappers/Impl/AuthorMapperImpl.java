@@ -3,25 +3,34 @@ package com.surikat.booksDemoApp.mappers.Impl;
 import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AuthorMapperImpl implements Mapper<AuthorEntity, AuthorDto> {
 
-    private final ModelMapper modelMapper;
-
-    public AuthorMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
-    }
-
     @Override
     public AuthorDto mapTo(AuthorEntity authorEntity) {
-        return modelMapper.map(authorEntity, AuthorDto.class);
+        if (authorEntity == null) {
+            return null;
+        }
+
+        return AuthorDto.builder()
+                .id(authorEntity.getId())
+                .name(authorEntity.getName())
+                .birthdate(authorEntity.getBirthdate())
+                .build();
     }
 
     @Override
     public AuthorEntity mapFrom(AuthorDto authorDto) {
-        return modelMapper.map(authorDto, AuthorEntity.class);
+        if (authorDto == null) {
+            return null;
+        }
+
+        return AuthorEntity.builder()
+                .id(authorDto.getId())
+                .name(authorDto.getName())
+                .birthdate(authorDto.getBirthdate())
+                .build();
     }
 }
@@ -1,26 +1,45 @@
 package com.surikat.booksDemoApp.mappers.Impl;
 
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.domain.entities.BookEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 @Component
 public class BookMapperImpl implements Mapper<BookEntity, BookDto> {
-    private final ModelMapper modelMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public BookMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public BookMapperImpl(Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.authorMapper = authorMapper;
     }
 
     @Override
     public BookDto mapTo(BookEntity bookEntity) {
-        return modelMapper.map(bookEntity, BookDto.class);
+        if (bookEntity == null) {
+            return null;
+        }
+
+        return BookDto.builder()
+                .id(bookEntity.getId())
+                .title(bookEntity.getTitle())
+                .description(bookEntity.getDescription())
+                .author(authorMapper.mapTo(bookEntity.getAuthor()))
+                .build();
     }
 
     @Override
     public BookEntity mapFrom(BookDto bookDto) {
-        return modelMapper.map(bookDto, BookEntity.class);
+        if (bookDto == null) {
+            return null;
+        }
+
+        return BookEntity.builder()
+                .id(bookDto.getId())
+                .title(bookDto.getTitle())
+                .description(bookDto.getDescription())
+                .author(authorMapper.mapFrom(bookDto.getAuthor()))
+                .build();
     }
 }
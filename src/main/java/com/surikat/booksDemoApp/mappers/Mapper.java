@@ -1,6 +1,24 @@
 package com.surikat.booksDemoApp.mappers;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
 public interface Mapper<T, V> {
     V mapTo(T a);
     T mapFrom(V b);
+
+    default List<V> mapAll(List<T> a) {
+        List<V> mapped = new ArrayList<>(a.size());
+        for (T item : a) {
+            mapped.add(mapTo(item));
+        }
+        return mapped;
+    }
+
+    default Page<V> mapAll(Page<T> a) {
+        return new PageImpl<>(mapAll(a.getContent()), a.getPageable(), a.getTotalElements());
+    }
 }
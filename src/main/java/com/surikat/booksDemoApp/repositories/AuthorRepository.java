@@ -1,13 +1,54 @@
 package com.surikat.booksDemoApp.repositories;
 
+import com.surikat.booksDemoApp.domain.ResourceVersion;
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AuthorRepository extends CrudRepository<AuthorEntity, Long>,
-        PagingAndSortingRepository<AuthorEntity, Long> {
+        PagingAndSortingRepository<AuthorEntity, Long>, AuthorRepositoryCustom {
+
+    String AUTHOR_DTO = "new com.surikat.booksDemoApp.domain.dto.AuthorDto(a.id, a.name, a.birthdate)";
+
+    @Override
+    @Query("select count(a) from AuthorEntity a")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long count();
+
+    @Query("select " + AUTHOR_DTO + " from AuthorEntity a")
+    Slice<AuthorDto> findDtoSliceBy(Pageable pageable);
+
+    @Query("select " + AUTHOR_DTO + " from AuthorEntity a where a.id = :id")
+    Optional<AuthorDto> findDtoById(@Param("id") Long id);
+
+    @Query("select new com.surikat.booksDemoApp.domain.ResourceVersion(a.version, a.updatedAt) " +
+            "from AuthorEntity a where a.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select " + AUTHOR_DTO + " from AuthorEntity a order by a.id")
+    List<AuthorDto> findDtoKeysetById(Pageable limit);
+
+    @Query("select " + AUTHOR_DTO + " from AuthorEntity a where a.id > :id order by a.id")
+    List<AuthorDto> findDtoKeysetByIdAfter(@Param("id") Long id, Pageable limit);
+
+    @Query("select " + AUTHOR_DTO + " from AuthorEntity a order by a.name, a.id")
+    List<AuthorDto> findDtoKeysetByName(Pageable limit);
 
+    @Query("select " + AUTHOR_DTO + " from AuthorEntity a " +
+            "where (a.name, a.id) > (:name, :id) " +
+            "order by a.name, a.id")
+    List<AuthorDto> findDtoKeysetByNameAfter(@Param("name") String name, @Param("id") Long id, Pageable limit);
 }
@@ -0,0 +1,20 @@
+package com.surikat.booksDemoApp.repositories;
+
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+public interface AuthorRepositoryCustom {
+
+    // One UPDATE for the given columns, a partial update skips null fields.
+    // Empty when there is no author with this id
+    Optional<AuthorDto> updateFields(Long id, AuthorEntity author, boolean partial);
+
+    Set<Long> findIdsWithBooks(Collection<Long> ids);
+
+    // Set-based delete, returns the ids that existed
+    Set<Long> deleteAllByIds(Collection<Long> ids);
+}
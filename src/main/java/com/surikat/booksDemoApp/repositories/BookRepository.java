@@ -1,11 +1,95 @@
 package com.surikat.booksDemoApp.repositories;
 
-import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.ResourceVersion;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
 import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface BookRepository extends CrudRepository<BookEntity, Long>,
-        PagingAndSortingRepository<BookEntity, Long> {}
+        PagingAndSortingRepository<BookEntity, Long>, BookRepositoryCustom {
+
+    String BOOK_DTO = "new com.surikat.booksDemoApp.domain.dto.BookDto(" +
+            "b.id, b.title, b.description, a.id, a.name, a.birthdate)";
+    String BOOK_DTO_WITHOUT_AUTHOR = "new com.surikat.booksDemoApp.domain.dto.BookDto(b.id, b.title, b.description)";
+
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Iterable<BookEntity> findAll();
+
+    @Override
+    @Query(value = "select b from BookEntity b join fetch b.author",
+            countQuery = "select count(b) from BookEntity b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<BookEntity> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Optional<BookEntity> findById(Long id);
+
+    @Override
+    @Query("select count(b) from BookEntity b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long count();
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a")
+    Slice<BookDto> findDtoSliceBy(Pageable pageable);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a where b.id = :id")
+    Optional<BookDto> findDtoById(@Param("id") Long id);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a where b.id in :ids")
+    List<BookDto> findDtoByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id from BookEntity b where b.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    @Query("select new com.surikat.booksDemoApp.domain.ResourceVersion(b.version, b.updatedAt, a.version, a.updatedAt) " +
+            "from BookEntity b join b.author a where b.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a order by b.id")
+    List<BookDto> findDtoKeysetById(Pageable limit);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a where b.id > :id order by b.id")
+    List<BookDto> findDtoKeysetByIdAfter(@Param("id") Long id, Pageable limit);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a order by b.title, b.id")
+    List<BookDto> findDtoKeysetByTitle(Pageable limit);
+
+    // A row-value comparison in the order of the index, so PostgreSQL starts an index range scan right at the cursor
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a " +
+            "where (b.title, b.id) > (:title, :id) " +
+            "order by b.title, b.id")
+    List<BookDto> findDtoKeysetByTitleAfter(@Param("title") String title, @Param("id") Long id, Pageable limit);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a where b.author.id = :authorId order by b.id")
+    List<BookDto> findDtoKeysetByAuthorId(@Param("authorId") Long authorId, Pageable limit);
+
+    @Query("select " + BOOK_DTO + " from BookEntity b join b.author a " +
+            "where b.author.id = :authorId and b.id > :id order by b.id")
+    List<BookDto> findDtoKeysetByAuthorIdAfter(@Param("authorId") Long authorId, @Param("id") Long id, Pageable limit);
+
+    @Query("select " + BOOK_DTO_WITHOUT_AUTHOR + " from BookEntity b where b.author.id = :authorId order by b.id")
+    List<BookDto> findDtoWithoutAuthorKeysetByAuthorId(@Param("authorId") Long authorId, Pageable limit);
+
+    @Query("select " + BOOK_DTO_WITHOUT_AUTHOR + " from BookEntity b " +
+            "where b.author.id = :authorId and b.id > :id order by b.id")
+    List<BookDto> findDtoWithoutAuthorKeysetByAuthorIdAfter(@Param("authorId") Long authorId, @Param("id") Long id,
+                                                            Pageable limit);
+}
@@ -0,0 +1,22 @@
+package com.surikat.booksDemoApp.repositories;
+
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface BookRepositoryCustom {
+
+    // One UPDATE for the given columns, a partial update skips null fields.
+    // Empty when there is no book with this id
+    Optional<BookDto> updateFields(Long id, BookEntity book, boolean partial);
+
+    // One batched UPDATE per book, null fields keep their value. Row counts come back in the same order
+    int[] updateFieldsBatch(List<BookEntity> books);
+
+    // Set-based delete, returns the ids that existed
+    Set<Long> deleteAllByIds(Collection<Long> ids);
+}
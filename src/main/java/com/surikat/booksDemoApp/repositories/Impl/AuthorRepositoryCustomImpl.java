@@ -0,0 +1,118 @@
+package com.surikat.booksDemoApp.repositories.Impl;
+
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.repositories.AuthorRepositoryCustom;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private static final String AUTHOR_COLUMNS = "id, name, birthdate";
+
+    private static final RowMapper<AuthorDto> AUTHOR_ROW_MAPPER = (rs, rowNum) -> new AuthorDto(
+            rs.getLong(1), rs.getString(2), rs.getObject(3, LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AuthorRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                      DatabasePlatform databasePlatform,
+                                      EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.databasePlatform = databasePlatform;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Optional<AuthorDto> updateFields(Long id, AuthorEntity author, boolean partial) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (!partial || author.getName() != null) {
+            assignments.add("name = ?");
+            args.add(author.getName());
+        }
+        if (!partial || author.getBirthdate() != null) {
+            assignments.add("birthdate = ?");
+            args.add(author.getBirthdate());
+        }
+        assignments.add("version = version + 1");
+        assignments.add("updated_at = ?");
+        args.add(Timestamp.from(Instant.now()));
+        args.add(id);
+
+        String update = "update authors set " + String.join(", ", assignments) + " where id = ?";
+
+        Optional<AuthorDto> updated;
+        if (databasePlatform.isPostgres()) {
+            updated = jdbcTemplate.query(update + " returning " + AUTHOR_COLUMNS, AUTHOR_ROW_MAPPER, args.toArray())
+                    .stream()
+                    .findFirst();
+        } else if (jdbcTemplate.update(update, args.toArray()) == 0) {
+            updated = Optional.empty();
+        } else {
+            updated = jdbcTemplate.query("select " + AUTHOR_COLUMNS + " from authors where id = ?", AUTHOR_ROW_MAPPER, id)
+                    .stream()
+                    .findFirst();
+        }
+
+        // The row changed past Hibernate, so its second-level cache entry is stale, and so are cached pages
+        // that it may have moved into, out of or within
+        if (updated.isPresent()) {
+            entityManagerFactory.getCache().evict(AuthorEntity.class, id);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+        return updated;
+    }
+
+    @Override
+    public Set<Long> findIdsWithBooks(Collection<Long> ids) {
+        Set<Long> withBooks = new HashSet<>();
+        for (List<Long> chunk : IdChunks.split(ids)) {
+            withBooks.addAll(namedParameterJdbcTemplate.queryForList(
+                    "select distinct author_id from books where author_id in (:ids)", Map.of("ids", chunk), Long.class));
+        }
+        return withBooks;
+    }
+
+    @Override
+    public Set<Long> deleteAllByIds(Collection<Long> ids) {
+        Set<Long> deleted = new HashSet<>();
+        for (List<Long> chunk : IdChunks.split(ids)) {
+            Map<String, Object> params = Map.of("ids", chunk);
+            if (databasePlatform.isPostgres()) {
+                deleted.addAll(namedParameterJdbcTemplate.queryForList(
+                        "delete from authors where id in (:ids) returning id", params, Long.class));
+            } else {
+                deleted.addAll(namedParameterJdbcTemplate.queryForList(
+                        "select id from authors where id in (:ids)", params, Long.class));
+                namedParameterJdbcTemplate.update("delete from authors where id in (:ids)", params);
+            }
+        }
+
+        Cache cache = entityManagerFactory.getCache();
+        deleted.forEach(id -> cache.evict(AuthorEntity.class, id));
+        // Cached counts no longer match the table
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        return deleted;
+    }
+}
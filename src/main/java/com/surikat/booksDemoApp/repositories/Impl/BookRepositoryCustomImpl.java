@@ -0,0 +1,144 @@
+package com.surikat.booksDemoApp.repositories.Impl;
+
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.repositories.BookRepositoryCustom;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    private static final String BOOK_COLUMNS = "b.id, b.title, b.description, a.id, a.name, a.birthdate";
+
+    // Every row has the same shape, so the whole list goes out as one JDBC batch
+    private static final String UPDATE_BOOK_FIELDS = "update books set title = coalesce(?, title), " +
+            "description = coalesce(?, description), author_id = coalesce(?, author_id), " +
+            "version = version + 1, updated_at = ? where id = ?";
+    private static final int[] UPDATE_BOOK_FIELDS_TYPES =
+            {Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.TIMESTAMP, Types.BIGINT};
+
+    private static final RowMapper<BookDto> BOOK_ROW_MAPPER = (rs, rowNum) -> new BookDto(
+            rs.getLong(1), rs.getString(2), rs.getString(3),
+            rs.getLong(4), rs.getString(5), rs.getObject(6, LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public BookRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                    DatabasePlatform databasePlatform,
+                                    EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.databasePlatform = databasePlatform;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Optional<BookDto> updateFields(Long id, BookEntity book, boolean partial) {
+        Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (!partial || book.getTitle() != null) {
+            assignments.add("title = ?");
+            args.add(book.getTitle());
+        }
+        if (!partial || book.getDescription() != null) {
+            assignments.add("description = ?");
+            args.add(book.getDescription());
+        }
+        if (!partial || authorId != null) {
+            assignments.add("author_id = ?");
+            args.add(authorId);
+        }
+        assignments.add("version = version + 1");
+        assignments.add("updated_at = ?");
+        args.add(Timestamp.from(Instant.now()));
+        args.add(id);
+
+        String update = "update books set " + String.join(", ", assignments) + " where id = ?";
+
+        Optional<BookDto> updated;
+        if (databasePlatform.isPostgres()) {
+            // RETURNING cannot join, the CTE adds the author in the same statement
+            String updateReturning = "with b as (" + update + " returning id, title, description, author_id) " +
+                    "select " + BOOK_COLUMNS + " from b join authors a on a.id = b.author_id";
+            updated = jdbcTemplate.query(updateReturning, BOOK_ROW_MAPPER, args.toArray())
+                    .stream()
+                    .findFirst();
+        } else if (jdbcTemplate.update(update, args.toArray()) == 0) {
+            updated = Optional.empty();
+        } else {
+            updated = jdbcTemplate.query("select " + BOOK_COLUMNS + " from books b join authors a on a.id = b.author_id " +
+                            "where b.id = ?", BOOK_ROW_MAPPER, id)
+                    .stream()
+                    .findFirst();
+        }
+
+        // The row changed past Hibernate, so its second-level cache entry is stale, and so are cached pages
+        // that it may have moved into, out of or within
+        if (updated.isPresent()) {
+            entityManagerFactory.getCache().evict(BookEntity.class, id);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+        return updated;
+    }
+
+    @Override
+    public int[] updateFieldsBatch(List<BookEntity> books) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(books.size());
+        for (BookEntity book : books) {
+            Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+            batch.add(new Object[]{book.getTitle(), book.getDescription(), authorId, now, book.getId()});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_BOOK_FIELDS, batch, UPDATE_BOOK_FIELDS_TYPES);
+
+        Cache cache = entityManagerFactory.getCache();
+        books.forEach(book -> cache.evict(BookEntity.class, book.getId()));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        return counts;
+    }
+
+    @Override
+    public Set<Long> deleteAllByIds(Collection<Long> ids) {
+        Set<Long> deleted = new HashSet<>();
+        for (List<Long> chunk : IdChunks.split(ids)) {
+            Map<String, Object> params = Map.of("ids", chunk);
+            if (databasePlatform.isPostgres()) {
+                deleted.addAll(namedParameterJdbcTemplate.queryForList(
+                        "delete from books where id in (:ids) returning id", params, Long.class));
+            } else {
+                deleted.addAll(namedParameterJdbcTemplate.queryForList(
+                        "select id from books where id in (:ids)", params, Long.class));
+                namedParameterJdbcTemplate.update("delete from books where id in (:ids)", params);
+            }
+        }
+
+        Cache cache = entityManagerFactory.getCache();
+        deleted.forEach(id -> cache.evict(BookEntity.class, id));
+        // Cached counts no longer match the table
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        return deleted;
+    }
+}
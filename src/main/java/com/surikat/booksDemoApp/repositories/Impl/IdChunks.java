@@ -0,0 +1,23 @@
+package com.surikat.booksDemoApp.repositories.Impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Splits id lists for IN clauses, PostgreSQL accepts at most 32767 bind parameters per statement
+final class IdChunks {
+
+    static final int MAX_IN_PARAMETERS = 1000;
+
+    private IdChunks() {
+    }
+
+    static List<List<Long>> split(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += MAX_IN_PARAMETERS) {
+            chunks.add(all.subList(i, Math.min(i + MAX_IN_PARAMETERS, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -1,8 +1,15 @@
 package com.surikat.booksDemoApp.services;
 
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.Versioned;
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,17 +17,27 @@ import java.util.Optional;
 public interface AuthorService {
     AuthorEntity create(AuthorEntity authorEntity);
 
+    List<BatchItemResult<AuthorEntity>> createAll(List<AuthorEntity> authors);
+
     List<AuthorEntity> findAll();
 
     Page<AuthorEntity> findAll(Pageable pageable);
 
+    Slice<AuthorDto> findAll(Pageable pageable, CountMode countMode);
+
+    KeysetPage<AuthorDto> findAll(KeysetCursor cursor, int size);
+
     Optional<AuthorEntity> findById(Long id);
 
+    Optional<Versioned<AuthorDto>> findVersionedDtoById(Long id);
+
     boolean isExists(Long id);
 
-    AuthorEntity fullUpdate(Long id, AuthorEntity author);
+    Optional<AuthorDto> fullUpdate(Long id, AuthorEntity author);
 
-    AuthorEntity partialUpdate(Long id, AuthorEntity author);
+    Optional<AuthorDto> partialUpdate(Long id, AuthorEntity author);
 
     void delete(Long id);
+
+    List<BatchItemResult<Long>> deleteAll(List<Long> ids);
 }
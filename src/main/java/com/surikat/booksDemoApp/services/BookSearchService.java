@@ -0,0 +1,11 @@
+package com.surikat.booksDemoApp.services;
+
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+
+public interface BookSearchService {
+    String SORT_KEY = "score";
+
+    KeysetPage<BookDto> search(String query, KeysetCursor cursor, int size);
+}
@@ -1,9 +1,16 @@
 package com.surikat.booksDemoApp.services;
 
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.Versioned;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.domain.entities.BookEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,17 +18,31 @@ import java.util.Optional;
 public interface BookService {
     BookEntity create(BookEntity  book);
 
+    List<BatchItemResult<BookEntity>> createAll(List<BookEntity> books);
+
     List<BookEntity > findAll();
 
     Page<BookEntity> findAll(Pageable pageable);
 
+    Slice<BookDto> findAll(Pageable pageable, CountMode countMode);
+
+    KeysetPage<BookDto> findAll(KeysetCursor cursor, int size);
+
+    KeysetPage<BookDto> findAllByAuthor(Long authorId, KeysetCursor cursor, int size, boolean withAuthor);
+
     Optional<BookEntity > findById(Long id);
 
+    Optional<Versioned<BookDto>> findVersionedDtoById(Long id);
+
     boolean isExists(Long id);
 
-    BookEntity  fullUpdate(Long id, BookEntity  book);
+    Optional<BookDto> fullUpdate(Long id, BookEntity  book);
 
-    BookEntity  partialUpdate(Long id, BookEntity  book);
+    Optional<BookDto> partialUpdate(Long id, BookEntity  book);
 
     void delete(Long id);
+
+    List<BatchItemResult<Long>> partialUpdateAll(List<BookEntity> books);
+
+    List<BatchItemResult<Long>> deleteAll(List<Long> ids);
 }
@@ -0,0 +1,5 @@
+package com.surikat.booksDemoApp.services;
+
+public interface DatasetGeneratorService {
+    void generate(int authors, long books, long seed);
+}
@@ -0,0 +1,11 @@
+package com.surikat.booksDemoApp.services;
+
+import com.surikat.booksDemoApp.domain.DataFormat;
+
+import java.io.OutputStream;
+
+public interface ExportService {
+    void exportBooks(DataFormat format, OutputStream out);
+
+    void exportAuthors(DataFormat format, OutputStream out);
+}
@@ -1,30 +1,94 @@
 package com.surikat.booksDemoApp.services.Impl;
 
+import com.surikat.booksDemoApp.config.CacheConfig;
+import com.surikat.booksDemoApp.config.MetricsConfig;
+import com.surikat.booksDemoApp.domain.AuthorsChangedEvent;
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.CountedPage;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.Versioned;
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.repositories.AuthorRepository;
+import com.surikat.booksDemoApp.repositories.BookRepository;
 import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.TotalCountService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final TotalCountService totalCountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    public AuthorServiceImpl(AuthorRepository authorRepository,
+                             BookRepository bookRepository,
+                             TotalCountService totalCountService,
+                             ApplicationEventPublisher eventPublisher,
+                             CacheManager cacheManager) {
         this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.totalCountService = totalCountService;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
     }
 
     @Override
     public AuthorEntity create(AuthorEntity author) {
         author.setId(null);
-        return authorRepository.save(author);
+        AuthorEntity savedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(AuthorsChangedEvent.of(savedAuthor.getId()));
+        return savedAuthor;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult<AuthorEntity>> createAll(List<AuthorEntity> authors) {
+        List<BatchItemResult<AuthorEntity>> results = new ArrayList<>(authors.size());
+        List<AuthorEntity> accepted = new ArrayList<>(authors.size());
+
+        for (int i = 0; i < authors.size(); i++) {
+            AuthorEntity author = authors.get(i);
+            Optional<String> error = validate(author);
+            if (error.isPresent()) {
+                results.add(BatchItemResult.rejected(i, error.get()));
+                continue;
+            }
+
+            author.setId(null);
+            accepted.add(author);
+            results.add(BatchItemResult.created(i, author));
+        }
+
+        // Ids come from the pooled sequence, so the inserts go out as JDBC batches
+        authorRepository.saveAll(accepted);
+        eventPublisher.publishEvent(new AuthorsChangedEvent(accepted.stream().map(AuthorEntity::getId).toList()));
+        return results;
     }
 
     @Override
@@ -38,35 +102,128 @@ public class AuthorServiceImpl implements AuthorService {
         return authorRepository.findAll(pageable);
     }
 
+    @Override
+    public Slice<AuthorDto> findAll(Pageable pageable, CountMode countMode) {
+        Slice<AuthorDto> authors = authorRepository.findDtoSliceBy(pageable);
+        if (countMode == CountMode.NONE) {
+            return authors;
+        }
+
+        return CountedPage.of(authors, () -> totalCountService.count("authors", countMode, authorRepository::count));
+    }
+
+    @Override
+    public KeysetPage<AuthorDto> findAll(KeysetCursor cursor, int size) {
+        // One extra row tells whether there is a next page without a count query
+        Pageable limit = PageRequest.ofSize(size + 1);
+
+        if ("name".equals(cursor.getSortKey())) {
+            List<AuthorDto> authors = cursor.isFirst()
+                    ? authorRepository.findDtoKeysetByName(limit)
+                    : authorRepository.findDtoKeysetByNameAfter(cursor.getValue(), cursor.getId(), limit);
+            return KeysetPage.of(authors, size, author -> cursor.next(author.getId(), author.getName()));
+        }
+
+        List<AuthorDto> authors = cursor.isFirst()
+                ? authorRepository.findDtoKeysetById(limit)
+                : authorRepository.findDtoKeysetByIdAfter(cursor.getId(), limit);
+        return KeysetPage.of(authors, size, author -> cursor.next(author.getId(), null));
+    }
+
     @Override
     public Optional<AuthorEntity> findById(Long id) {
         return authorRepository.findById(id);
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id", unless = "#result == null")
+    public Optional<Versioned<AuthorDto>> findVersionedDtoById(Long id) {
+        // Version first: a write landing in between leaves the body newer than its ETag, which only costs
+        // the next conditional GET a full response
+        return authorRepository.findVersionById(id)
+                .flatMap(version -> authorRepository.findDtoById(id).map(dto -> new Versioned<>(dto, version)));
+    }
+
     @Override
     public boolean isExists(Long id) {
         return authorRepository.existsById(id);
     }
 
     @Override
-    public AuthorEntity fullUpdate(Long id, AuthorEntity author) {
-        author.setId(id);
-        return authorRepository.save(author);
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id")
+    public Optional<AuthorDto> fullUpdate(Long id, AuthorEntity author) {
+        Optional<AuthorDto> updatedAuthor = authorRepository.updateFields(id, author, false);
+        updatedAuthor.ifPresent(updated -> {
+            evictBooksOf(id);
+            eventPublisher.publishEvent(AuthorsChangedEvent.of(id));
+        });
+        return updatedAuthor;
     }
 
     @Override
-    public AuthorEntity partialUpdate(Long id, AuthorEntity author) {
-        author.setId(id);
-
-        return authorRepository.findById(id).map(existingAuthor -> {
-            Optional.ofNullable(author.getName()).ifPresent(existingAuthor::setName);
-            Optional.ofNullable(author.getBirthdate()).ifPresent(existingAuthor::setBirthdate);
-            return authorRepository.save(existingAuthor);
-        }).orElseThrow(() -> new RuntimeException("Author with id " + id + " does not exists"));
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id")
+    public Optional<AuthorDto> partialUpdate(Long id, AuthorEntity author) {
+        Optional<AuthorDto> updatedAuthor = authorRepository.updateFields(id, author, true);
+        updatedAuthor.ifPresent(updated -> {
+            evictBooksOf(id);
+            eventPublisher.publishEvent(AuthorsChangedEvent.of(id));
+        });
+        return updatedAuthor;
     }
 
+    // The books foreign key keeps an author with books from being deleted, so no cached book embeds a deleted author
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id")
     public void delete(Long id) {
         authorRepository.deleteById(id);
+        eventPublisher.publishEvent(AuthorsChangedEvent.of(id));
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.AUTHORS, allEntries = true)
+    public List<BatchItemResult<Long>> deleteAll(List<Long> ids) {
+        Set<Long> withBooks = authorRepository.findIdsWithBooks(new HashSet<>(ids));
+        Set<Long> deletable = new HashSet<>(ids);
+        deletable.removeAll(withBooks);
+        Set<Long> deleted = authorRepository.deleteAllByIds(deletable);
+        eventPublisher.publishEvent(new AuthorsChangedEvent(deleted));
+
+        List<BatchItemResult<Long>> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (withBooks.contains(id)) {
+                results.add(BatchItemResult.rejected(i, id, "Author with id " + id + " still has books"));
+            } else if (deleted.contains(id)) {
+                results.add(BatchItemResult.deleted(i, id));
+            } else {
+                results.add(BatchItemResult.notFound(i, id));
+            }
+        }
+        return results;
+    }
+
+    // Cached books embed their author, so only that author's books go
+    private void evictBooksOf(Long authorId) {
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books != null) {
+            bookRepository.findIdsByAuthorId(authorId).forEach(books::evict);
+        }
+    }
+
+    private Optional<String> validate(AuthorEntity author) {
+        if (author == null) {
+            return Optional.of("Author is required");
+        }
+        if (author.getName() == null || author.getName().isBlank()) {
+            return Optional.of("Author name is required");
+        }
+        if (author.getName().length() > 64) {
+            return Optional.of("Author name is longer than 64 characters");
+        }
+        if (author.getBirthdate() == null) {
+            return Optional.of("Author birthdate is required");
+        }
+        return Optional.empty();
     }
 }
@@ -0,0 +1,47 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import java.util.Optional;
+import java.util.function.LongPredicate;
+
+// Mirrors the column limits of BookEntity for the paths that check rows before inserting them
+final class BookConstraints {
+
+    static final int TITLE_LENGTH = 128;
+    static final int DESCRIPTION_LENGTH = 512;
+
+    private BookConstraints() {
+    }
+
+    static Optional<String> validate(String title, String description, Long authorId, LongPredicate authorExists) {
+        if (title == null) {
+            return Optional.of("Book title is required");
+        }
+        if (description == null) {
+            return Optional.of("Book description is required");
+        }
+        if (authorId == null) {
+            return Optional.of("Book author id is required");
+        }
+        return validatePartial(title, description, authorId, authorExists);
+    }
+
+    // Only the fields that are set are checked, as a partial update leaves the others as they are
+    static Optional<String> validatePartial(String title, String description, Long authorId, LongPredicate authorExists) {
+        if (title != null && title.isBlank()) {
+            return Optional.of("Book title is required");
+        }
+        if (title != null && title.length() > TITLE_LENGTH) {
+            return Optional.of("Book title is longer than " + TITLE_LENGTH + " characters");
+        }
+        if (description != null && description.isBlank()) {
+            return Optional.of("Book description is required");
+        }
+        if (description != null && description.length() > DESCRIPTION_LENGTH) {
+            return Optional.of("Book description is longer than " + DESCRIPTION_LENGTH + " characters");
+        }
+        if (authorId != null && !authorExists.test(authorId)) {
+            return Optional.of("Author with id " + authorId + " does not exists");
+        }
+        return Optional.empty();
+    }
+}
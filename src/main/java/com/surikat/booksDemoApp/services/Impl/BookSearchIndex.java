@@ -0,0 +1,141 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Inverted index over book titles and descriptions for databases without a text search type.
+// Titles and descriptions get ts_rank's default weights of their classes on PostgreSQL, A (1.0) and B (0.4), but the
+// score is a plain sum of term weights without ts_rank's frequency and length handling, so the orders only roughly agree
+final class BookSearchIndex {
+
+    static final float TITLE_WEIGHT = 1.0f;
+    static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparing(Hit::score).reversed()
+            .thenComparing(Hit::id);
+
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    record Hit(long id, float score) {
+    }
+
+    void put(long id, String title, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        for (String term : terms(title)) {
+            weights.merge(term, TITLE_WEIGHT, Float::sum);
+        }
+        for (String term : terms(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Float::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+            termsById.put(id, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return termsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every term has to match. Only hits ranked after (afterScore, afterId) are returned
+    List<Hit> search(String query, Float afterScore, Long afterId, int limit) {
+        Set<String> queryTerms = terms(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> lists = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Float> list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+
+            List<Hit> hits = new ArrayList<>();
+            candidates:
+            for (Map.Entry<Long, Float> candidate : lists.get(0).entrySet()) {
+                float score = candidate.getValue();
+                for (int i = 1; i < lists.size(); i++) {
+                    Float weight = lists.get(i).get(candidate.getKey());
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += weight;
+                }
+
+                long id = candidate.getKey();
+                if (afterScore == null || score < afterScore || (score == afterScore && id > afterId)) {
+                    hits.add(new Hit(id, score));
+                }
+            }
+
+            hits.sort(BY_SCORE);
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Set<String> terms = termsById.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> list = postings.get(term);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Same splitting as the 'simple' text search configuration: lower case, no stemming
+    static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : SEPARATOR.split(text.toLowerCase())) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,146 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import com.surikat.booksDemoApp.config.MetricsConfig;
+import com.surikat.booksDemoApp.domain.BooksChangedEvent;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.repositories.BookRepository;
+import com.surikat.booksDemoApp.services.BookSearchService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class BookSearchServiceImpl implements BookSearchService, SmartInitializingSingleton {
+
+    // books.search_vector and its GIN index come from the PostgreSQL migrations
+    private static final String SEARCH_HITS = "select b.id as book_id, b.title, b.description, " +
+            "a.id as author_id, a.name as author_name, a.birthdate as author_birthdate, " +
+            "ts_rank(b.search_vector, q) as score " +
+            "from books b join authors a on a.id = b.author_id, websearch_to_tsquery('simple', ?) q " +
+            "where b.search_vector @@ q";
+    private static final String SEARCH_FIRST = SEARCH_HITS + " order by score desc, book_id limit ?";
+    private static final String SEARCH_AFTER = "select * from (" + SEARCH_HITS + ") hits " +
+            "where score < ? or (score = ? and book_id > ?) order by score desc, book_id limit ?";
+
+    private static final RowMapper<Hit> HIT_ROW_MAPPER = (rs, rowNum) -> new Hit(new BookDto(
+            rs.getLong("book_id"), rs.getString("title"), rs.getString("description"),
+            rs.getLong("author_id"), rs.getString("author_name"), rs.getObject("author_birthdate", LocalDate.class)),
+            rs.getFloat("score"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final BookRepository bookRepository;
+    private final boolean indexEnabled;
+    private volatile BookSearchIndex index = new BookSearchIndex();
+
+    public BookSearchServiceImpl(JdbcTemplate jdbcTemplate,
+                                 DatabasePlatform databasePlatform,
+                                 BookRepository bookRepository,
+                                 @Value("${app.in-memory-indexes.enabled:true}") boolean indexEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.databasePlatform = databasePlatform;
+        this.bookRepository = bookRepository;
+        this.indexEnabled = indexEnabled;
+    }
+
+    private record Hit(BookDto book, float score) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (indexEnabled && !databasePlatform.isPostgres()) {
+            rebuildIndex();
+        }
+    }
+
+    @Override
+    public KeysetPage<BookDto> search(String query, KeysetCursor cursor, int size) {
+        Float afterScore = cursor.isFirst() ? null : Float.valueOf(cursor.getValue());
+
+        List<Hit> hits = databasePlatform.isPostgres()
+                ? searchPostgres(query, afterScore, cursor.getId(), size + 1)
+                : searchIndex(query, afterScore, cursor.getId(), size + 1);
+        return KeysetPage.of(hits, size, hit -> cursor.next(hit.book().getId(), Float.toString(hit.score())))
+                .map(Hit::book);
+    }
+
+    // The generated column keeps PostgreSQL up to date, only the in-memory index follows the writes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (!indexEnabled || databasePlatform.isPostgres()) {
+            return;
+        }
+        if (event.isAll()) {
+            rebuildIndex();
+            return;
+        }
+        if (event.getIds().isEmpty()) {
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(event.getIds());
+        namedParameterJdbcTemplate.query("select id, title, description from books where id in (:ids)",
+                Map.of("ids", event.getIds()), rs -> {
+                    index.put(rs.getLong(1), rs.getString(2), rs.getString(3));
+                    missing.remove(rs.getLong(1));
+                });
+        missing.forEach(index::remove);
+    }
+
+    private List<Hit> searchPostgres(String query, Float afterScore, Long afterId, int limit) {
+        if (afterScore == null) {
+            return jdbcTemplate.query(SEARCH_FIRST, HIT_ROW_MAPPER, query, limit);
+        }
+        return jdbcTemplate.query(SEARCH_AFTER, HIT_ROW_MAPPER, query, afterScore, afterScore, afterId, limit);
+    }
+
+    private List<Hit> searchIndex(String query, Float afterScore, Long afterId, int limit) {
+        List<BookSearchIndex.Hit> indexHits = index.search(query, afterScore, afterId, limit);
+        if (indexHits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, BookDto> books = bookRepository.findDtoByIdIn(indexHits.stream().map(BookSearchIndex.Hit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(BookDto::getId, Function.identity()));
+        List<Hit> hits = new ArrayList<>(indexHits.size());
+        for (BookSearchIndex.Hit hit : indexHits) {
+            BookDto book = books.get(hit.id());
+            if (book != null) {
+                hits.add(new Hit(book, hit.score()));
+            }
+        }
+        return hits;
+    }
+
+    // Built aside and swapped in, searches keep using the old index meanwhile
+    private void rebuildIndex() {
+        BookSearchIndex rebuilt = new BookSearchIndex();
+        jdbcTemplate.query("select id, title, description from books",
+                rs -> rebuilt.put(rs.getLong(1), rs.getString(2), rs.getString(3)));
+        index = rebuilt;
+        log.info("Book search index built with {} books", rebuilt.size());
+    }
+}
@@ -1,31 +1,104 @@
 package com.surikat.booksDemoApp.services.Impl;
 
+import com.surikat.booksDemoApp.config.CacheConfig;
+import com.surikat.booksDemoApp.config.MetricsConfig;
+import com.surikat.booksDemoApp.domain.AuthorsChangedEvent;
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.BooksChangedEvent;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.CountedPage;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
+import com.surikat.booksDemoApp.domain.KeysetPage;
+import com.surikat.booksDemoApp.domain.Versioned;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.repositories.AuthorRepository;
 import com.surikat.booksDemoApp.repositories.BookRepository;
 import com.surikat.booksDemoApp.services.BookService;
+import com.surikat.booksDemoApp.services.TotalCountService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TotalCountService totalCountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository,
+                           AuthorRepository authorRepository,
+                           TotalCountService totalCountService,
+                           ApplicationEventPublisher eventPublisher,
+                           CacheManager cacheManager) {
         this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.totalCountService = totalCountService;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
     }
 
 
     @Override
     public BookEntity create(BookEntity book) {
         book.setId(null);
-        return bookRepository.save(book);
+        book.setAuthor(resolveAuthor(book.getAuthor()));
+        BookEntity savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BooksChangedEvent.of(savedBook.getId()));
+        return savedBook;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResult<BookEntity>> createAll(List<BookEntity> books) {
+        Map<Long, AuthorEntity> authors = findAuthors(books);
+
+        List<BatchItemResult<BookEntity>> results = new ArrayList<>(books.size());
+        List<BookEntity> accepted = new ArrayList<>(books.size());
+
+        for (int i = 0; i < books.size(); i++) {
+            BookEntity book = books.get(i);
+            Optional<String> error = validate(book, authors);
+            if (error.isPresent()) {
+                results.add(BatchItemResult.rejected(i, error.get()));
+                continue;
+            }
+
+            book.setId(null);
+            book.setAuthor(authors.get(book.getAuthor().getId()));
+            accepted.add(book);
+            results.add(BatchItemResult.created(i, book));
+        }
+
+        // Ids come from the pooled sequence, so the inserts go out as JDBC batches
+        bookRepository.saveAll(accepted);
+        eventPublisher.publishEvent(new BooksChangedEvent(accepted.stream().map(BookEntity::getId).toList()));
+        return results;
     }
 
     @Override
@@ -39,36 +112,191 @@ public class BookServiceImpl implements BookService {
         return bookRepository.findAll(pageable);
     }
 
+    @Override
+    public Slice<BookDto> findAll(Pageable pageable, CountMode countMode) {
+        Slice<BookDto> books = bookRepository.findDtoSliceBy(pageable);
+        if (countMode == CountMode.NONE) {
+            return books;
+        }
+
+        return CountedPage.of(books, () -> totalCountService.count("books", countMode, bookRepository::count));
+    }
+
+    @Override
+    public KeysetPage<BookDto> findAll(KeysetCursor cursor, int size) {
+        // One extra row tells whether there is a next page without a count query
+        Pageable limit = PageRequest.ofSize(size + 1);
+
+        if ("title".equals(cursor.getSortKey())) {
+            List<BookDto> books = cursor.isFirst()
+                    ? bookRepository.findDtoKeysetByTitle(limit)
+                    : bookRepository.findDtoKeysetByTitleAfter(cursor.getValue(), cursor.getId(), limit);
+            return KeysetPage.of(books, size, book -> cursor.next(book.getId(), book.getTitle()));
+        }
+
+        List<BookDto> books = cursor.isFirst()
+                ? bookRepository.findDtoKeysetById(limit)
+                : bookRepository.findDtoKeysetByIdAfter(cursor.getId(), limit);
+        return KeysetPage.of(books, size, book -> cursor.next(book.getId(), null));
+    }
+
+    @Override
+    public KeysetPage<BookDto> findAllByAuthor(Long authorId, KeysetCursor cursor, int size, boolean withAuthor) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+
+        List<BookDto> books;
+        if (withAuthor) {
+            books = cursor.isFirst()
+                    ? bookRepository.findDtoKeysetByAuthorId(authorId, limit)
+                    : bookRepository.findDtoKeysetByAuthorIdAfter(authorId, cursor.getId(), limit);
+        } else {
+            books = cursor.isFirst()
+                    ? bookRepository.findDtoWithoutAuthorKeysetByAuthorId(authorId, limit)
+                    : bookRepository.findDtoWithoutAuthorKeysetByAuthorIdAfter(authorId, cursor.getId(), limit);
+        }
+        return KeysetPage.of(books, size, book -> cursor.next(book.getId(), null));
+    }
+
     @Override
     public Optional<BookEntity> findById(Long id) {
         return bookRepository.findById(id);
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id", unless = "#result == null")
+    public Optional<Versioned<BookDto>> findVersionedDtoById(Long id) {
+        // Version first: a write landing in between leaves the body newer than its ETag, which only costs
+        // the next conditional GET a full response
+        return bookRepository.findVersionById(id)
+                .flatMap(version -> bookRepository.findDtoById(id).map(dto -> new Versioned<>(dto, version)));
+    }
+
     @Override
     public boolean isExists(Long id) {
         return bookRepository.existsById(id);
     }
 
     @Override
-    public BookEntity fullUpdate(Long id, BookEntity book) {
-        book.setId(id);
-        return bookRepository.save(book);
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
+    public Optional<BookDto> fullUpdate(Long id, BookEntity book) {
+        Optional<BookDto> updatedBook = bookRepository.updateFields(id, book, false);
+        updatedBook.ifPresent(updated -> eventPublisher.publishEvent(BooksChangedEvent.of(id)));
+        return updatedBook;
     }
 
     @Override
-    public BookEntity partialUpdate(Long id, BookEntity book) {
-        book.setId(id);
-
-        return bookRepository.findById(id).map(existingBook -> {
-            Optional.ofNullable(book.getTitle()).ifPresent(existingBook::setTitle);
-            Optional.ofNullable(book.getDescription()).ifPresent(existingBook::setDescription);
-            Optional.ofNullable(book.getAuthor()).ifPresent(existingBook::setAuthor);
-            return bookRepository.save(existingBook);
-        }).orElseThrow(() -> new RuntimeException("Book with id " + id + " does not exists"));
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
+    public Optional<BookDto> partialUpdate(Long id, BookEntity book) {
+        Optional<BookDto> updatedBook = bookRepository.updateFields(id, book, true);
+        updatedBook.ifPresent(updated -> eventPublisher.publishEvent(BooksChangedEvent.of(id)));
+        return updatedBook;
     }
 
+    // Deleting a book cascades to its author, which leaves the author cache as well
     @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
+    @Transactional
     public void delete(Long id) {
-        bookRepository.deleteById(id);
+        bookRepository.findById(id).ifPresent(book -> {
+            bookRepository.delete(book);
+            Cache authors = cacheManager.getCache(CacheConfig.AUTHORS);
+            if (authors != null) {
+                authors.evict(book.getAuthor().getId());
+            }
+            eventPublisher.publishEvent(BooksChangedEvent.of(id));
+            eventPublisher.publishEvent(AuthorsChangedEvent.of(book.getAuthor().getId()));
+        });
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    public List<BatchItemResult<Long>> partialUpdateAll(List<BookEntity> books) {
+        Map<Long, AuthorEntity> authors = findAuthors(books);
+
+        List<BatchItemResult<Long>> results = new ArrayList<>(Collections.nCopies(books.size(), null));
+        List<Integer> acceptedIndexes = new ArrayList<>(books.size());
+        List<BookEntity> accepted = new ArrayList<>(books.size());
+
+        for (int i = 0; i < books.size(); i++) {
+            BookEntity book = books.get(i);
+            Optional<String> error = validatePartial(book, authors);
+            if (error.isPresent()) {
+                results.set(i, BatchItemResult.rejected(i, book != null ? book.getId() : null, error.get()));
+                continue;
+            }
+
+            acceptedIndexes.add(i);
+            accepted.add(book);
+        }
+
+        int[] updatedRows = bookRepository.updateFieldsBatch(accepted);
+        for (int j = 0; j < accepted.size(); j++) {
+            int i = acceptedIndexes.get(j);
+            Long id = accepted.get(j).getId();
+            // Drivers that do not report batch row counts return SUCCESS_NO_INFO, which is not 0 either
+            results.set(i, updatedRows[j] == 0 ? BatchItemResult.notFound(i, id) : BatchItemResult.updated(i, id));
+        }
+        eventPublisher.publishEvent(new BooksChangedEvent(accepted.stream().map(BookEntity::getId).toList()));
+        return results;
+    }
+
+    // Unlike delete, the bulk delete removes only the books and leaves their authors in place
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    public List<BatchItemResult<Long>> deleteAll(List<Long> ids) {
+        Set<Long> deleted = bookRepository.deleteAllByIds(new HashSet<>(ids));
+        eventPublisher.publishEvent(new BooksChangedEvent(deleted));
+
+        List<BatchItemResult<Long>> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(deleted.contains(id) ? BatchItemResult.deleted(i, id) : BatchItemResult.notFound(i, id));
+        }
+        return results;
+    }
+
+    private Map<Long, AuthorEntity> findAuthors(List<BookEntity> books) {
+        Set<Long> authorIds = new HashSet<>();
+        for (BookEntity book : books) {
+            if (book != null && book.getAuthor() != null && book.getAuthor().getId() != null) {
+                authorIds.add(book.getAuthor().getId());
+            }
+        }
+        Map<Long, AuthorEntity> authors = new HashMap<>();
+        authorRepository.findAllById(authorIds).forEach(author -> authors.put(author.getId(), author));
+        return authors;
+    }
+
+    private Optional<String> validatePartial(BookEntity book, Map<Long, AuthorEntity> authors) {
+        if (book == null) {
+            return Optional.of("Book is required");
+        }
+        if (book.getId() == null) {
+            return Optional.of("Book id is required");
+        }
+
+        Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+        return BookConstraints.validatePartial(book.getTitle(), book.getDescription(), authorId, authors::containsKey);
+    }
+
+    private Optional<String> validate(BookEntity book, Map<Long, AuthorEntity> authors) {
+        if (book == null) {
+            return Optional.of("Book is required");
+        }
+
+        Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+        return BookConstraints.validate(book.getTitle(), book.getDescription(), authorId, authors::containsKey);
+    }
+
+    // Authors mapped from a DTO carry no version, so Hibernate would take them for new instances
+    private AuthorEntity resolveAuthor(AuthorEntity author) {
+        if (author == null || author.getId() == null || author.getVersion() != null) {
+            return author;
+        }
+
+        return authorRepository.findById(author.getId())
+                .orElseThrow(() -> new RuntimeException("Author with id " + author.getId() + " does not exists"));
     }
 }
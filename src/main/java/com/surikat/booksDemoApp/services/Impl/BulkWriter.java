@@ -0,0 +1,95 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Inserts that bypass Hibernate: COPY on PostgreSQL, JDBC batches on other databases
+final class BulkWriter {
+
+    // Must match the allocationSize of the id sequences, ids are reserved the way the pooled-lo optimizer does
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    BulkWriter(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    long[] allocateIds(String sequence, int count) {
+        String nextValue = databasePlatform.isPostgres()
+                ? "select nextval('" + sequence + "')"
+                : "select next value for " + sequence;
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i += ID_BLOCK_SIZE) {
+            long low = jdbcTemplate.queryForObject(nextValue, Long.class);
+            for (int j = 0; j < ID_BLOCK_SIZE && i + j < count; j++) {
+                ids[i + j] = low + j;
+            }
+        }
+        return ids;
+    }
+
+    void write(String table, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (databasePlatform.isPostgres()) {
+            copy(table, columns, rows);
+        } else {
+            insert(table, columns, rows);
+        }
+    }
+
+    private void copy(String table, List<String> columns, List<Object[]> rows) {
+        StringWriter data = new StringWriter();
+        try {
+            for (Object[] row : rows) {
+                Csv.writeRow(data, row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String copy = "copy " + table + " (" + String.join(", ", columns) + ") from stdin with (format csv)";
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(copy, new StringReader(data.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void insert(String table, List<String> columns, List<Object[]> rows) {
+        String insert = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] values = row.clone();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] instanceof Instant instant) {
+                    values[i] = Timestamp.from(instant);
+                }
+            }
+            batch.add(values);
+        }
+        jdbcTemplate.batchUpdate(insert, batch);
+    }
+}
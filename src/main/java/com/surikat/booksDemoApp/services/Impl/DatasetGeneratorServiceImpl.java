@@ -0,0 +1,237 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import com.surikat.booksDemoApp.services.DatasetGeneratorService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Everything is drawn from one seeded generator in a fixed order, so the same sizes and seed give the same rows
+// on an empty database. Row ids come from the sequences and only match between runs when those start equal
+@Slf4j
+@Service
+public class DatasetGeneratorServiceImpl implements DatasetGeneratorService {
+
+    private static final List<String> AUTHOR_COLUMNS = List.of("id", "name", "birthdate", "version", "updated_at");
+    private static final List<String> BOOK_COLUMNS =
+            List.of("id", "title", "description", "author_id", "version", "updated_at");
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Boris", "Clara", "Dmitry", "Elena", "Fyodor", "Greta", "Henrik", "Irina", "Jonas",
+            "Katarina", "Leo", "Maria", "Nikolai", "Olga", "Pavel", "Quentin", "Rosa", "Sergei", "Tatiana",
+            "Ursula", "Viktor", "Wanda", "Xavier", "Yulia", "Zoran", "Alice", "Bernard", "Charlotte", "David",
+            "Emily", "Frank", "George", "Hannah", "Isaac", "Jane", "Kurt", "Louisa", "Mark", "Nora"
+    };
+    private static final String[] LAST_NAMES = {
+            "Ivanov", "Smirnova", "Kuznetsov", "Popova", "Sokolov", "Lebedeva", "Kozlov", "Novikova", "Morozov",
+            "Petrova", "Volkov", "Solovyova", "Vasiliev", "Zaitseva", "Pavlov", "Semenova", "Golubev", "Vinogradova",
+            "Bogdanov", "Vorobyova", "Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Wilson",
+            "Anderson", "Taylor", "Thomas", "Moore", "Martin", "Jackson", "Thompson", "White", "Harris", "Clark",
+            "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Green", "Baker", "Adams",
+            "Nelson", "Hill", "Campbell", "Mitchell", "Roberts", "Carter", "Phillips", "Evans", "Turner", "Parker"
+    };
+    private static final String[] WORDS = {
+            "the", "of", "and", "a", "in", "night", "house", "river", "war", "peace", "garden", "winter", "summer",
+            "city", "road", "shadow", "light", "stone", "sea", "forest", "island", "letters", "memory", "silence",
+            "storm", "journey", "secret", "king", "queen", "daughter", "son", "mother", "father", "stranger", "last",
+            "first", "long", "lost", "hidden", "broken", "golden", "quiet", "northern", "southern", "old", "new",
+            "time", "world", "heart", "fire", "water", "glass", "iron", "paper", "song", "dream", "story", "history",
+            "between", "beyond", "under", "after", "before", "without", "people", "children", "village", "empire",
+            "mountain", "harbor", "station", "library", "machine", "theory", "practice", "guide", "introduction",
+            "notes", "tales", "chronicle", "voyage", "return", "promise", "question", "answer", "evening", "morning"
+    };
+
+    private static final LocalDate EARLIEST_BIRTHDATE = LocalDate.of(1800, 1, 1);
+    private static final int BIRTHDATE_DAYS = (int) ChronoUnit.DAYS.between(EARLIEST_BIRTHDATE, LocalDate.of(2005, 1, 1));
+
+    // Word counts of titles and lengths of descriptions are log-normal: most are short, a few run up to the column limit
+    private static final double TITLE_WORDS_MEDIAN = 4;
+    private static final double TITLE_WORDS_SIGMA = 0.5;
+    private static final double DESCRIPTION_LENGTH_MEDIAN = 220;
+    private static final double DESCRIPTION_LENGTH_SIGMA = 0.6;
+    private static final int MIN_DESCRIPTION_LENGTH = 24;
+
+    // Multiplying the popularity rank by a number coprime to the author count spreads popular authors over the ids
+    private static final long RANK_STRIDE = 2_654_435_761L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final BulkWriter bulkWriter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int chunkSize;
+    private final double authorSkew;
+
+    public DatasetGeneratorServiceImpl(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       DatabasePlatform databasePlatform,
+                                       EntityManagerFactory entityManagerFactory,
+                                       @Value("${app.seed.chunk-size:10000}") int chunkSize,
+                                       @Value("${app.seed.author-skew:1.1}") double authorSkew) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databasePlatform = databasePlatform;
+        this.bulkWriter = new BulkWriter(jdbcTemplate, databasePlatform);
+        this.entityManagerFactory = entityManagerFactory;
+        this.chunkSize = chunkSize;
+        this.authorSkew = authorSkew;
+    }
+
+    @Override
+    public void generate(int authors, long books, long seed) {
+        if (authors < 0 || books < 0) {
+            throw new IllegalArgumentException("Dataset sizes must not be negative");
+        }
+        if (authors == 0 && books > 0) {
+            throw new IllegalArgumentException("Books need at least one author");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Instant now = Instant.now();
+        long started = System.nanoTime();
+
+        long[] authorIds = new long[authors];
+        for (int offset = 0; offset < authors; offset += chunkSize) {
+            writeAuthors(random, authorIds, offset, Math.min(chunkSize, authors - offset), now);
+            log.info("Dataset: {} of {} authors written", Math.min(offset + chunkSize, authors), authors);
+        }
+
+        long stride = rankStride(authors);
+        for (long written = 0; written < books; written += chunkSize) {
+            writeBooks(random, authorIds, stride, (int) Math.min(chunkSize, books - written), now);
+            long done = Math.min(written + chunkSize, books);
+            long elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            log.info("Dataset: {} of {} books written, {} rows/s", done, books, (authors + done) * 1000 / elapsed);
+        }
+
+        // Fresh statistics keep the planner from costing the new tables as empty
+        if (databasePlatform.isPostgres()) {
+            jdbcTemplate.execute("analyze authors");
+            jdbcTemplate.execute("analyze books");
+        }
+
+        // No change events: the suggest and search indexes are built from these tables when the application starts
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private void writeAuthors(SplittableRandom random, long[] authorIds, int offset, int size, Instant now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = bulkWriter.allocateIds("author_id_seq", size);
+            System.arraycopy(ids, 0, authorIds, offset, size);
+
+            List<Object[]> rows = new ArrayList<>(size);
+            for (long id : ids) {
+                rows.add(new Object[]{id, authorName(random), authorBirthdate(random), 0, now});
+            }
+            bulkWriter.write("authors", AUTHOR_COLUMNS, rows);
+        });
+    }
+
+    private void writeBooks(SplittableRandom random, long[] authorIds, long stride, int size, Instant now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = bulkWriter.allocateIds("book_id_seq", size);
+
+            List<Object[]> rows = new ArrayList<>(size);
+            for (long id : ids) {
+                long rank = zipfRank(random.nextDouble(), authorIds.length, authorSkew);
+                long authorId = authorIds[(int) Math.floorMod((rank - 1) * stride, (long) authorIds.length)];
+                rows.add(new Object[]{id, title(random), description(random), authorId, 0, now});
+            }
+            bulkWriter.write("books", BOOK_COLUMNS, rows);
+        });
+    }
+
+    private static String authorName(SplittableRandom random) {
+        String first = pick(random, FIRST_NAMES);
+        String last = pick(random, LAST_NAMES);
+        if (random.nextInt(5) == 0) {
+            return first + " " + (char) ('A' + random.nextInt(26)) + ". " + last;
+        }
+        return first + " " + last;
+    }
+
+    private static LocalDate authorBirthdate(SplittableRandom random) {
+        return EARLIEST_BIRTHDATE.plusDays(random.nextInt(BIRTHDATE_DAYS));
+    }
+
+    private static String title(SplittableRandom random) {
+        int words = (int) Math.max(1, Math.round(logNormal(random, TITLE_WORDS_MEDIAN, TITLE_WORDS_SIGMA)));
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = pick(random, WORDS);
+            if (title.length() + 1 + word.length() > BookConstraints.TITLE_LENGTH) {
+                break;
+            }
+            if (i > 0) {
+                title.append(' ');
+            }
+            title.append(i == 0 ? capitalize(word) : word);
+        }
+        return title.toString();
+    }
+
+    private static String description(SplittableRandom random) {
+        int length = (int) Math.round(logNormal(random, DESCRIPTION_LENGTH_MEDIAN, DESCRIPTION_LENGTH_SIGMA));
+        length = Math.clamp(length, MIN_DESCRIPTION_LENGTH, BookConstraints.DESCRIPTION_LENGTH);
+
+        StringBuilder description = new StringBuilder(length);
+        boolean sentenceStart = true;
+        while (true) {
+            String word = pick(random, WORDS);
+            // One more character for the separator and one for the closing full stop
+            if (description.length() + word.length() + 2 > length) {
+                break;
+            }
+            if (!description.isEmpty()) {
+                description.append(sentenceStart ? ". " : " ");
+            }
+            description.append(sentenceStart ? capitalize(word) : word);
+            sentenceStart = random.nextInt(10) == 0;
+        }
+        return description.append('.').toString();
+    }
+
+    // Inverse of the CDF of a continuous power law on [1, n + 1), a cheap stand-in for a Zipf distribution over ranks
+    private static long zipfRank(double uniform, long n, double skew) {
+        double rank = skew == 1.0
+                ? Math.pow(n + 1, uniform)
+                : Math.pow((Math.pow(n + 1, 1 - skew) - 1) * uniform + 1, 1 / (1 - skew));
+        return Math.clamp((long) rank, 1, n);
+    }
+
+    private static long rankStride(long n) {
+        long stride = RANK_STRIDE;
+        while (n > 1 && BigInteger.valueOf(stride).gcd(BigInteger.valueOf(n)).longValue() != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        // Box-Muller, one of the two normal values is enough here
+        double normal = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return median * Math.exp(sigma * normal);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
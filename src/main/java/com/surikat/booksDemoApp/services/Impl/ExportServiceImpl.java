@@ -0,0 +1,140 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.services.ExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final String BOOKS_QUERY = "select b.id, b.title, b.description, a.id, a.name, a.birthdate " +
+            "from books b join authors a on a.id = b.author_id order by b.id";
+    private static final String AUTHORS_QUERY = "select a.id, a.name, a.birthdate from authors a order by a.id";
+
+    private static final String[] BOOK_COLUMNS =
+            {"id", "title", "description", "author_id", "author_name", "author_birthdate"};
+    private static final String[] AUTHOR_COLUMNS = {"id", "name", "birthdate"};
+
+    private static final RowMapper<BookDto> BOOK_ROW_MAPPER = (rs, rowNum) -> new BookDto(
+            rs.getLong(1), rs.getString(2), rs.getString(3),
+            rs.getLong(4), rs.getString(5), rs.getObject(6, LocalDate.class));
+    private static final RowMapper<AuthorDto> AUTHOR_ROW_MAPPER = (rs, rowNum) -> new AuthorDto(
+            rs.getLong(1), rs.getString(2), rs.getObject(3, LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jsonWriter;
+
+    public ExportServiceImpl(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        // PostgreSQL only reads through a cursor when a fetch size is set and autocommit is off,
+        // hence the own template and the read-only transaction around every export
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void exportBooks(DataFormat format, OutputStream out) {
+        export(format, out, BOOKS_QUERY, BOOK_ROW_MAPPER, BOOK_COLUMNS, book -> new Object[]{
+                book.getId(), book.getTitle(), book.getDescription(),
+                book.getAuthor().getId(), book.getAuthor().getName(), book.getAuthor().getBirthdate()});
+    }
+
+    @Override
+    public void exportAuthors(DataFormat format, OutputStream out) {
+        export(format, out, AUTHORS_QUERY, AUTHOR_ROW_MAPPER, AUTHOR_COLUMNS, author -> new Object[]{
+                author.getId(), author.getName(), author.getBirthdate()});
+    }
+
+    private <T> void export(DataFormat format, OutputStream out, String query, RowMapper<T> rowMapper,
+                            String[] columns, Function<T, Object[]> csvValues) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                RowWriter<T> rowWriter = format == DataFormat.CSV
+                        ? csvRowWriter(out, columns, csvValues)
+                        : ndjsonRowWriter(out);
+
+                // Rows are written as they are fetched, nothing is collected on the way
+                jdbcTemplate.query(query, rs -> {
+                    try {
+                        rowWriter.write(rowMapper.mapRow(rs, rs.getRow()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                rowWriter.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> RowWriter<T> ndjsonRowWriter(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(out);
+        generator.setRootValueSeparator(null);
+
+        return new RowWriter<>() {
+            @Override
+            public void write(T row) throws IOException {
+                jsonWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    private <T> RowWriter<T> csvRowWriter(OutputStream out, String[] columns,
+                                          Function<T, Object[]> csvValues) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Csv.writeRow(writer, (Object[]) columns);
+
+        return new RowWriter<>() {
+            @Override
+            public void write(T row) throws IOException {
+                Csv.writeRow(writer, csvValues.apply(row));
+            }
+
+            @Override
+            public void finish() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+
+        void finish() throws IOException;
+    }
+}
@@ -0,0 +1,273 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import com.surikat.booksDemoApp.domain.BooksChangedEvent;
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.domain.ImportReport;
+import com.surikat.booksDemoApp.domain.dto.BookDto;
+import com.surikat.booksDemoApp.services.ImportService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int MAX_REPORTED_REJECTS = 1000;
+
+    private static final List<String> BOOK_COLUMNS =
+            List.of("id", "title", "description", "author_id", "version", "updated_at");
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkWriter bulkWriter;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ImportServiceImpl(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             DatabasePlatform databasePlatform,
+                             ObjectMapper objectMapper,
+                             EntityManagerFactory entityManagerFactory,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.import.chunk-size:5000}") int chunkSize) {
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkWriter = new BulkWriter(jdbcTemplate, databasePlatform);
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportReport importBooks(DataFormat format, InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowReader rows = format == DataFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+        Progress progress = new Progress();
+
+        // Every chunk commits on its own, so a failure keeps the chunks before it and the report says how far
+        // the import got. The body is read outside the transactions, no connection waits on a slow client
+        try {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            for (Row row = rows.next(); row != null; row = rows.next()) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    commitChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(chunk, progress);
+            }
+        } catch (IOException | DataAccessException e) {
+            log.error("Book import stopped after {} rows, {} imported", progress.processed, progress.imported, e);
+            progress.fail("Import stopped at row " + (progress.processed + 1)
+                    + ", the rows before it are committed");
+        } finally {
+            if (progress.imported > 0) {
+                // Rows went in past Hibernate, so cached count queries no longer match the table
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            }
+        }
+
+        return progress.toReport();
+    }
+
+    private void commitChunk(List<Row> chunk, Progress progress) {
+        Chunk written = transactionTemplate.execute(status -> writeChunk(chunk));
+        if (written.ids().length > 0) {
+            // One event per chunk keeps the index refreshes at chunk-sized IN lists
+            eventPublisher.publishEvent(new BooksChangedEvent(Arrays.stream(written.ids()).boxed().toList()));
+        }
+
+        progress.committed(chunk.size(), written);
+        log.info("Book import: {} rows processed, {} imported, {} rejected",
+                progress.processed, progress.imported, progress.rejected);
+    }
+
+    private Chunk writeChunk(List<Row> chunk) {
+        Set<Long> authorIds = existingAuthorIds(chunk);
+
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        List<ImportReport.Reject> rejects = new ArrayList<>();
+        for (Row row : chunk) {
+            String error = row.error() != null
+                    ? row.error()
+                    : BookConstraints.validate(row.title(), row.description(), row.authorId(), authorIds::contains)
+                    .orElse(null);
+            if (error != null) {
+                rejects.add(new ImportReport.Reject(row.number(), error));
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return new Chunk(new long[0], rejects);
+        }
+
+        long[] ids = bulkWriter.allocateIds("book_id_seq", accepted.size());
+        Instant now = Instant.now();
+        List<Object[]> rows = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Row row = accepted.get(i);
+            rows.add(new Object[]{ids[i], row.title(), row.description(), row.authorId(), 0, now});
+        }
+        bulkWriter.write("books", BOOK_COLUMNS, rows);
+        return new Chunk(ids, rejects);
+    }
+
+    private Set<Long> existingAuthorIds(List<Row> chunk) {
+        Set<Long> requested = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.authorId() != null) {
+                requested.add(row.authorId());
+            }
+        }
+        if (requested.isEmpty()) {
+            return requested;
+        }
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "select id from authors where id in (:ids)", Map.of("ids", requested), Long.class));
+    }
+
+    private RowReader ndjsonRows(BufferedReader reader) {
+        return new RowReader() {
+            private long number;
+
+            @Override
+            public Row next() throws IOException {
+                String line;
+                do {
+                    line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    number++;
+                } while (line.isBlank());
+
+                try {
+                    BookDto book = objectMapper.readValue(line, BookDto.class);
+                    Long authorId = book.getAuthor() != null ? book.getAuthor().getId() : null;
+                    return new Row(number, book.getTitle(), book.getDescription(), authorId, null);
+                } catch (JsonProcessingException e) {
+                    return Row.rejected(number, "Malformed JSON");
+                }
+            }
+        };
+    }
+
+    private RowReader csvRows(BufferedReader reader) {
+        List<String> header;
+        try {
+            header = Csv.readRow(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (header == null || !header.containsAll(List.of("title", "description", "author_id"))) {
+            throw new IllegalArgumentException("CSV header must name the title, description and author_id columns");
+        }
+
+        int titleColumn = header.indexOf("title");
+        int descriptionColumn = header.indexOf("description");
+        int authorIdColumn = header.indexOf("author_id");
+
+        return new RowReader() {
+            private long number;
+
+            @Override
+            public Row next() throws IOException {
+                List<String> fields;
+                do {
+                    fields = Csv.readRow(reader);
+                    if (fields == null) {
+                        return null;
+                    }
+                    number++;
+                } while (fields.size() == 1 && fields.get(0).isBlank());
+
+                if (fields.size() != header.size()) {
+                    return Row.rejected(number, "Expected " + header.size() + " columns, got " + fields.size());
+                }
+
+                String authorId = fields.get(authorIdColumn);
+                try {
+                    return new Row(number, fields.get(titleColumn), fields.get(descriptionColumn),
+                            authorId.isEmpty() ? null : Long.valueOf(authorId), null);
+                } catch (NumberFormatException e) {
+                    return Row.rejected(number, "Author id " + authorId + " is not a number");
+                }
+            }
+        };
+    }
+
+    private interface RowReader {
+        Row next() throws IOException;
+    }
+
+    private record Row(long number, String title, String description, Long authorId, String error) {
+        static Row rejected(long number, String error) {
+            return new Row(number, null, null, null, error);
+        }
+    }
+
+    private record Chunk(long[] ids, List<ImportReport.Reject> rejects) {
+    }
+
+    private static class Progress {
+        private long processed;
+        private long imported;
+        private long rejected;
+        private final List<ImportReport.Reject> rejects = new ArrayList<>();
+        private String error;
+
+        void committed(int chunkRows, Chunk chunk) {
+            processed += chunkRows;
+            imported += chunk.ids().length;
+            rejected += chunk.rejects().size();
+            for (ImportReport.Reject reject : chunk.rejects()) {
+                if (rejects.size() == MAX_REPORTED_REJECTS) {
+                    break;
+                }
+                rejects.add(reject);
+            }
+        }
+
+        void fail(String error) {
+            this.error = error;
+        }
+
+        ImportReport toReport() {
+            return new ImportReport(processed, imported, rejected, rejects, error);
+        }
+    }
+}
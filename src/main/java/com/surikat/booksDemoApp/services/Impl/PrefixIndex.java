@@ -0,0 +1,258 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.domain.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Case-insensitive prefix lookup over sorted arrays. Writes go to a small sorted delta and to tombstones
+// for the base arrays, both are merged into new arrays once they grow past a fraction of the base
+final class PrefixIndex {
+
+    private static final int MIN_DELTA_SIZE = 1024;
+    private static final int DELTA_FRACTION = 8;
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::key).thenComparingLong(Key::id);
+
+    private record Key(String key, long id) {
+    }
+
+    private String[] keys = new String[0];
+    private String[] values = new String[0];
+    private long[] ids = new long[0];
+    private final Set<Long> removed = new HashSet<>();
+
+    private final TreeMap<Key, String> added = new TreeMap<>(KEY_ORDER);
+    private final Map<Long, Key> addedById = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Replaces the whole content with what the builder collected, used for the initial scan
+    void load(Builder builder) {
+        Integer[] order = builder.order();
+        String[] loadedKeys = new String[order.length];
+        String[] loadedValues = new String[order.length];
+        long[] loadedIds = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            loadedKeys[i] = builder.keys[order[i]];
+            loadedValues[i] = builder.values[order[i]];
+            loadedIds[i] = builder.ids[order[i]];
+        }
+
+        lock.writeLock().lock();
+        try {
+            keys = loadedKeys;
+            values = loadedValues;
+            ids = loadedIds;
+            removed.clear();
+            added.clear();
+            addedById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(long id, String value) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            Key key = new Key(normalize(value), id);
+            added.put(key, value);
+            addedById.put(id, key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Suggestion> find(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        List<Suggestion> found = new ArrayList<>(limit);
+
+        lock.readLock().lock();
+        try {
+            int i = lowerBound(normalizedPrefix);
+            Iterator<Map.Entry<Key, String>> delta = added
+                    .tailMap(new Key(normalizedPrefix, Long.MIN_VALUE), true)
+                    .entrySet()
+                    .iterator();
+            Map.Entry<Key, String> next = delta.hasNext() ? delta.next() : null;
+
+            while (found.size() < limit) {
+                while (i < keys.length && keys[i].startsWith(normalizedPrefix) && removed.contains(ids[i])) {
+                    i++;
+                }
+                boolean baseMatches = i < keys.length && keys[i].startsWith(normalizedPrefix);
+                boolean deltaMatches = next != null && next.getKey().key().startsWith(normalizedPrefix);
+                if (!baseMatches && !deltaMatches) {
+                    break;
+                }
+
+                if (baseMatches && (!deltaMatches || KEY_ORDER.compare(new Key(keys[i], ids[i]), next.getKey()) < 0)) {
+                    found.add(new Suggestion(ids[i], values[i]));
+                    i++;
+                } else {
+                    found.add(new Suggestion(next.getKey().id(), next.getValue()));
+                    next = delta.hasNext() ? delta.next() : null;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    // Assumes compressed references and compact strings, which are the JVM defaults below 32 GB of heap
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = arrayBytes(keys.length, 4) * 2 + arrayBytes(ids.length, 8);
+            for (int i = 0; i < keys.length; i++) {
+                bytes += stringBytes(values[i]);
+                if (keys[i] != values[i]) {
+                    bytes += stringBytes(keys[i]);
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Key key = addedById.remove(id);
+        if (key != null) {
+            added.remove(key);
+        }
+        removed.add(id);
+    }
+
+    private void compactIfNeeded() {
+        if (added.size() + removed.size() <= Math.max(MIN_DELTA_SIZE, keys.length / DELTA_FRACTION)) {
+            return;
+        }
+
+        int size = keys.length + added.size();
+        String[] mergedKeys = new String[size];
+        String[] mergedValues = new String[size];
+        long[] mergedIds = new long[size];
+
+        int n = 0;
+        int i = 0;
+        Iterator<Map.Entry<Key, String>> delta = added.entrySet().iterator();
+        Map.Entry<Key, String> next = delta.hasNext() ? delta.next() : null;
+        while (i < keys.length || next != null) {
+            if (i < keys.length && removed.contains(ids[i])) {
+                i++;
+            } else if (i < keys.length && (next == null || KEY_ORDER.compare(new Key(keys[i], ids[i]), next.getKey()) < 0)) {
+                mergedKeys[n] = keys[i];
+                mergedValues[n] = values[i];
+                mergedIds[n++] = ids[i++];
+            } else {
+                mergedKeys[n] = next.getKey().key();
+                mergedValues[n] = next.getValue();
+                mergedIds[n++] = next.getKey().id();
+                next = delta.hasNext() ? delta.next() : null;
+            }
+        }
+
+        keys = Arrays.copyOf(mergedKeys, n);
+        values = Arrays.copyOf(mergedValues, n);
+        ids = Arrays.copyOf(mergedIds, n);
+        removed.clear();
+        added.clear();
+        addedById.clear();
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return align(16 + (long) length * elementBytes);
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return 24 + arrayBytes(value.length(), latin1 ? 1 : 2);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    // Rows go straight into arrays and are sorted once the scan is done, so a load holds each row once plus its
+    // lower-case key, then copies them into the index in sorted order
+    static final class Builder {
+        private String[] keys = new String[1024];
+        private String[] values = new String[1024];
+        private long[] ids = new long[1024];
+        private int size;
+
+        void add(long id, String value) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+            String key = normalize(value);
+            // Values that are already lower case share one String with their key
+            keys[size] = key.equals(value) ? value : key;
+            values[size] = value;
+            ids[size++] = id;
+        }
+
+        int size() {
+            return size;
+        }
+
+        // Positions of the entries in (key, id) order, the parallel arrays themselves stay as they were added
+        private Integer[] order() {
+            Integer[] order = new Integer[size];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, this::compare);
+            return order;
+        }
+
+        private int compare(int a, int b) {
+            int byKey = keys[a].compareTo(keys[b]);
+            return byKey != 0 ? byKey : Long.compare(ids[a], ids[b]);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.domain.AuthorsChangedEvent;
+import com.surikat.booksDemoApp.domain.BooksChangedEvent;
+import com.surikat.booksDemoApp.domain.Suggestion;
+import com.surikat.booksDemoApp.services.SuggestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class SuggestServiceImpl implements SuggestService, SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PrefixIndex bookTitles = new PrefixIndex();
+    private final PrefixIndex authorNames = new PrefixIndex();
+    private final boolean indexEnabled;
+
+    public SuggestServiceImpl(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.suggest.fetch-size:1000}") int fetchSize,
+                              @Value("${app.in-memory-indexes.enabled:true}") boolean indexEnabled) {
+        // Cursor-based reading, rows go from the result set straight into the index arrays
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.indexEnabled = indexEnabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!indexEnabled) {
+            return;
+        }
+        load(bookTitles, "books", "title");
+        load(authorNames, "authors", "name");
+    }
+
+    @Override
+    public List<Suggestion> suggestBookTitles(String prefix, int limit) {
+        return bookTitles.find(prefix, limit);
+    }
+
+    @Override
+    public List<Suggestion> suggestAuthorNames(String prefix, int limit) {
+        return authorNames.find(prefix, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        if (!indexEnabled) {
+            return;
+        }
+        if (event.isAll()) {
+            load(bookTitles, "books", "title");
+        } else {
+            refresh(bookTitles, "books", "title", event.getIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorsChanged(AuthorsChangedEvent event) {
+        if (!indexEnabled) {
+            return;
+        }
+        if (event.isAll()) {
+            load(authorNames, "authors", "name");
+        } else {
+            refresh(authorNames, "authors", "name", event.getIds());
+        }
+    }
+
+    private void load(PrefixIndex index, String table, String column) {
+        PrefixIndex.Builder builder = new PrefixIndex.Builder();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                "select id, " + column + " from " + table,
+                rs -> {
+                    builder.add(rs.getLong(1), rs.getString(2));
+                }));
+        index.load(builder);
+
+        long bytes = index.estimatedBytes();
+        int entries = builder.size();
+        log.info("Suggest index on {}.{}: {} entries, ~{} MB, ~{} MB per million entries", table, column,
+                entries, bytes >> 20, entries == 0 ? 0 : (bytes * 1_000_000 / entries) >> 20);
+    }
+
+    private void refresh(PrefixIndex index, String table, String column, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(ids);
+        namedParameterJdbcTemplate.query("select id, " + column + " from " + table + " where id in (:ids)",
+                Map.of("ids", ids), rs -> {
+                    index.put(rs.getLong(1), rs.getString(2));
+                    missing.remove(rs.getLong(1));
+                });
+        missing.forEach(index::remove);
+    }
+}
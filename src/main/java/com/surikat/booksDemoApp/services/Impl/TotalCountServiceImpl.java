@@ -0,0 +1,71 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.config.DatabasePlatform;
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.TotalCount;
+import com.surikat.booksDemoApp.services.TotalCountService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Service
+public class TotalCountServiceImpl implements TotalCountService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final long cacheTtlNanos;
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    public TotalCountServiceImpl(JdbcTemplate jdbcTemplate,
+                                 DatabasePlatform databasePlatform,
+                                 @Value("${app.pagination.count-cache-ttl:30s}") Duration cacheTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    @Override
+    public TotalCount count(String table, CountMode mode, LongSupplier exactCount) {
+        return switch (mode) {
+            case CACHED -> cachedCount(table, exactCount);
+            case ESTIMATED -> estimatedCount(table, exactCount);
+            default -> new TotalCount(exactCount.getAsLong(), true);
+        };
+    }
+
+    private TotalCount cachedCount(String table, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = cachedCounts.get(table);
+        if (cached != null && now - cached.loadedAt() < cacheTtlNanos) {
+            return new TotalCount(cached.value(), false);
+        }
+
+        long value = exactCount.getAsLong();
+        cachedCounts.put(table, new CachedCount(value, now));
+        return new TotalCount(value, true);
+    }
+
+    private TotalCount estimatedCount(String table, LongSupplier exactCount) {
+        if (!databasePlatform.isPostgres()) {
+            return new TotalCount(exactCount.getAsLong(), true);
+        }
+
+        List<Long> estimates = jdbcTemplate.queryForList(
+                "select reltuples::bigint from pg_class where oid = to_regclass(?)", Long.class, table);
+
+        // reltuples stays negative until the table has been vacuumed or analyzed
+        if (estimates.isEmpty() || estimates.get(0) == null || estimates.get(0) < 0) {
+            return new TotalCount(exactCount.getAsLong(), true);
+        }
+        return new TotalCount(estimates.get(0), false);
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
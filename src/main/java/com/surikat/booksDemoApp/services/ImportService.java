@@ -0,0 +1,10 @@
+package com.surikat.booksDemoApp.services;
+
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.domain.ImportReport;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportReport importBooks(DataFormat format, InputStream in);
+}
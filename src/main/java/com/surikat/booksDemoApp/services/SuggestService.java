@@ -0,0 +1,11 @@
+package com.surikat.booksDemoApp.services;
+
+import com.surikat.booksDemoApp.domain.Suggestion;
+
+import java.util.List;
+
+public interface SuggestService {
+    List<Suggestion> suggestBookTitles(String prefix, int limit);
+
+    List<Suggestion> suggestAuthorNames(String prefix, int limit);
+}
@@ -0,0 +1,10 @@
+package com.surikat.booksDemoApp.services;
+
+import com.surikat.booksDemoApp.domain.CountMode;
+import com.surikat.booksDemoApp.domain.TotalCount;
+
+import java.util.function.LongSupplier;
+
+public interface TotalCountService {
+    TotalCount count(String table, CountMode mode, LongSupplier exactCount);
+}
@@ -0,0 +1,25 @@
+-- Increments match allocationSize = 50 of the entities, the pooled-lo optimizer hands out a block per call
+create sequence if not exists author_id_seq start with 1 increment by 50;
+create sequence if not exists book_id_seq start with 1 increment by 50;
+
+create table if not exists authors (
+    id bigint not null primary key,
+    name varchar(64) not null,
+    birthdate date not null,
+    version bigint not null default 0,
+    updated_at timestamp(6) with time zone not null default current_timestamp
+);
+
+create table if not exists books (
+    id bigint not null primary key,
+    title varchar(128) not null,
+    description varchar(512) not null,
+    author_id bigint not null references authors (id),
+    version bigint not null default 0,
+    updated_at timestamp(6) with time zone not null default current_timestamp
+);
+
+-- Keyset pages: GET /authors?sort=name, GET /books?sort=title and GET /authors/{id}/books
+create index if not exists authors_name_id_idx on authors (name, id);
+create index if not exists books_title_id_idx on books (title, id);
+create index if not exists books_author_id_id_idx on books (author_id, id);
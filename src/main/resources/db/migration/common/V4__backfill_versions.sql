@@ -0,0 +1,20 @@
+-- Tables created by ddl-auto=update before the entities were versioned have no version and updated_at columns,
+-- or have them nullable with NULL rows, which V1 leaves alone. Hibernate cannot increment a NULL version and
+-- the JDBC updates would keep it NULL
+alter table authors add column if not exists version bigint;
+alter table authors add column if not exists updated_at timestamp(6) with time zone;
+update authors set version = 0 where version is null;
+update authors set updated_at = current_timestamp where updated_at is null;
+alter table authors alter column version set default 0;
+alter table authors alter column version set not null;
+alter table authors alter column updated_at set default current_timestamp;
+alter table authors alter column updated_at set not null;
+
+alter table books add column if not exists version bigint;
+alter table books add column if not exists updated_at timestamp(6) with time zone;
+update books set version = 0 where version is null;
+update books set updated_at = current_timestamp where updated_at is null;
+alter table books alter column version set default 0;
+alter table books alter column version set not null;
+alter table books alter column updated_at set default current_timestamp;
+alter table books alter column updated_at set not null;
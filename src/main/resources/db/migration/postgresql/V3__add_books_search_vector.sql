@@ -0,0 +1,6 @@
+-- Generated from the row itself, so COPY imports and plain JDBC updates keep it current as well
+alter table books add column if not exists search_vector tsvector
+    generated always as (setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                         setweight(to_tsvector('simple', coalesce(description, '')), 'B')) stored;
+
+create index if not exists books_search_vector_idx on books using gin (search_vector);
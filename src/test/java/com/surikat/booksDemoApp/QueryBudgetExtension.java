@@ -0,0 +1,37 @@
+package com.surikat.booksDemoApp;
+
+import com.surikat.booksDemoApp.diagnostics.QueryStats;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements a test runs on its own thread, MockMvc requests included. Register it with
+ * {@code @RegisterExtension}, call {@link #reset()} after the setup and check the budget after the request.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private QueryStats stats;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        stats = QueryStats.start();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        stats.close();
+    }
+
+    public void reset() {
+        stats.reset();
+    }
+
+    public void assertStatementsAtMost(int budget) {
+        assertThat(stats.getStatements())
+                .as("SQL statements, by shape: %s", stats.getRepeatedShapes(0))
+                .isLessThanOrEqualTo(budget);
+    }
+}
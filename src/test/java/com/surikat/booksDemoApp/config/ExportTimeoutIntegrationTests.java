@@ -0,0 +1,67 @@
+package com.surikat.booksDemoApp.config;
+
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.services.ExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MockMvc waits for an async result only as long as the async timeout of the request, so an export that outlives
+// the short default timeout fails here unless the export timeout replaced it
+@SpringBootTest(properties = "spring.mvc.async.request-timeout=100ms")
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class ExportTimeoutIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @Autowired
+    public ExportTimeoutIntegrationTests(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    @Test
+    void testThatExportStreamsPastDefaultAsyncTimeout() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            for (int i = 0; i < 5; i++) {
+                Thread.sleep(100);
+                out.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+            return null;
+        }).when(exportService).exportBooks(ArgumentMatchers.eq(DataFormat.NDJSON), ArgumentMatchers.any());
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/export")
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        String content = mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andReturn().getResponse().getContentAsString();
+
+        assertThat(content.split("\n")).hasSize(5);
+    }
+}
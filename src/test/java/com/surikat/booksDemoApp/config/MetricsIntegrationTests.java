@@ -0,0 +1,58 @@
+package com.surikat.booksDemoApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.containsString;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles.app.service=0.5,0.99"
+})
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    @Autowired
+    public MetricsIntegrationTests(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    @Test
+    void testThatPrometheusEndpointExposesEndpointServiceAndPoolMetrics() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/1")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/actuator/prometheus")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("uri=\"/books/{id}\""))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("method=\"findVersionById\""))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("app_service_seconds{"))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("quantile=\"0.99\""))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("hikaricp_connections_active"))
+        ).andExpect(
+                MockMvcResultMatchers.content().string(containsString("hibernate_"))
+        );
+    }
+}
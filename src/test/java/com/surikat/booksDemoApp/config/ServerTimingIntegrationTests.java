@@ -0,0 +1,91 @@
+package com.surikat.booksDemoApp.config;
+
+import com.surikat.booksDemoApp.TestDataUtil;
+import com.surikat.booksDemoApp.diagnostics.ServerTimingFilter;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
+import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+
+@SpringBootTest(properties = "app.server-timing.enabled=true")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ServerTimingIntegrationTests {
+
+    private final MockMvc mockMvc;
+    private final AuthorService authorService;
+    private final BookService bookService;
+
+    @Autowired
+    public ServerTimingIntegrationTests(MockMvc mockMvc, AuthorService authorService, BookService bookService) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+    }
+
+    @Test
+    void testThatCreateBookReportsPhasesInServerTimingHeader() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Solaris\",\"description\":\"An ocean planet\",\"author\":{\"id\":"
+                                + authorA.getId() + "}}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(ServerTimingFilter.HEADER, matchesPattern(
+                        "repository;dur=\\d+\\.\\d{3}, mapping;dur=\\d+\\.\\d{3}, "
+                                + "serialization;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}"))
+        );
+    }
+
+    @Test
+    void testThatGetBookIsRecordedAsJfrEvent(@TempDir Path tempDir) throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+
+        Path dump = tempDir.resolve("requests.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.surikat.booksDemoApp.BookApiRequest").withThreshold(Duration.ZERO);
+            recording.start();
+            mockMvc.perform(
+                    MockMvcRequestBuilders.get("/books/" + bookA.getId())
+            ).andExpect(
+                    MockMvcResultMatchers.status().isOk()
+            );
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("endpoint")).isEqualTo("/books/{id}");
+        assertThat(events.get(0).getInt("status")).isEqualTo(200);
+        assertThat(events.get(0).getDuration("repositoryTime")).isPositive();
+    }
+}
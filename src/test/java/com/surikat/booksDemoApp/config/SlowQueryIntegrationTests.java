@@ -0,0 +1,53 @@
+package com.surikat.booksDemoApp.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+// Every statement counts as slow here, so the last one recorded is the last one the request ran
+@SpringBootTest(properties = {
+        "app.slow-query.enabled=true",
+        "management.endpoints.web.exposure.include=slowqueries",
+        "app.slow-query.threshold=0ms",
+        "app.slow-query.redact-parameters=false"
+})
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+public class SlowQueryIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    @Autowired
+    public SlowQueryIntegrationTests(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    @Test
+    void testThatSlowQueriesEndpointShowsRepositoryMethodAndBindValues() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/books/42")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/actuator/slowqueries")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].repositoryMethod").value("BookRepository.findVersionById")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].parameters[0]").value("42")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].elapsedMillis").isNumber()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].plan").doesNotExist()
+        );
+    }
+}
@@ -1,11 +1,17 @@
 package com.surikat.booksDemoApp.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.surikat.booksDemoApp.TestDataUtil;
 import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.domain.entities.BookEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
 import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +21,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -27,19 +38,25 @@ public class AuthorControllerIntegrationTests {
     private final String apiPath = "/authors";
 
     private final AuthorService authorService;
+    private final BookService bookService;
     private final MockMvc mockMvc;
     private final Mapper<AuthorEntity, AuthorDto> authorMapper;
     private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Autowired
     public AuthorControllerIntegrationTests(AuthorService authorService,
+                                            BookService bookService,
                                             MockMvc mockMvc,
                                             Mapper<AuthorEntity, AuthorDto> authorMapper,
-                                            ObjectMapper objectMapper) {
+                                            ObjectMapper objectMapper,
+                                            EntityManagerFactory entityManagerFactory) {
         this.authorService = authorService;
+        this.bookService = bookService;
         this.mockMvc = mockMvc;
         this.authorMapper = authorMapper;
         this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Test
@@ -80,6 +97,43 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    void testThatCreateAuthorsBatchReturnsResultPerItem() throws Exception {
+        AuthorDto authorDtoA = authorMapper.mapTo(TestDataUtil.createTestAuthorA());
+        AuthorDto authorDtoB = authorMapper.mapTo(TestDataUtil.createTestAuthorB());
+        authorDtoB.setBirthdate(null);
+        String authorsJson = objectMapper.writeValueAsString(List.of(authorDtoA, authorDtoB));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorsJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].item.id").isNumber()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].item.name").value(authorDtoA.getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].status").value("REJECTED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].error").value("Author birthdate is required")
+        );
+    }
+
+    @Test
+    void testThatCreateAuthorsBatchReturnsHttpStatus400WhenEmpty() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
     @Test
     void testThatGetAllAuthorsReturnsHttpStatus200() throws Exception {
         mockMvc.perform(
@@ -140,6 +194,72 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    void testThatGetAuthorsAfterCursorSortsByName() throws Exception {
+        AuthorEntity authorB = authorService.create(TestDataUtil.createTestAuthorB());
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorC = authorService.create(TestDataUtil.createTestAuthorC());
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=&size=2&sort=name")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(authorA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].id").value(authorB.getId())
+        ).andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=" + nextCursor + "&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(authorC.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].name").value(authorC.getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatSuggestAuthorsMatchesNamePrefixAndFollowsUpdates() throws Exception {
+        AuthorEntity authorB = authorService.create(TestDataUtil.createTestAuthorB());
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorC = authorService.create(TestDataUtil.createTestAuthorC());
+
+        authorService.partialUpdate(authorC.getId(), AuthorEntity.builder().name("Stanislaw Lem").build());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=author&limit=5")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].id").value(authorA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].id").value(authorB.getId())
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=STAN")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].value").value("Stanislaw Lem")
+        );
+    }
+
+    @Test
+    void testThatSuggestAuthorsWithTooLargeLimitReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=a&limit=51")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
     @Test
     void testThatGetAuthorByIdReturnsHttpStatus200WhenAuthorExists() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
@@ -180,6 +300,74 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    void testThatGetAuthorBooksReturnsOnlyBooksOfAuthorPagedByCursor() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorB = authorService.create(TestDataUtil.createTestAuthorB());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        bookService.create(TestDataUtil.createTestBookB(authorB));
+        BookEntity bookC = bookService.create(TestDataUtil.createTestBookC(authorA));
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + authorA.getId() + "/books?size=1")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author.name").value(authorA.getName())
+        ).andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + authorA.getId() + "/books?size=1&after=" + nextCursor)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookC.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatGetAuthorBooksInEnvelopeReturnsAuthorOnce() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + authorA.getId() + "/books?envelope=true")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.id").value(authorA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.author.name").value(authorA.getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].id").value(bookB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatGetAuthorBooksReturnsHttpStatus404WhenAuthorDoesNotExists() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/99/books")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/99/books?envelope=true")
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotFound()
+        );
+    }
+
     @Test
     void testThatFullUpdateAuthorReturnsHttpStatus200WhenAuthorExists() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
@@ -329,6 +517,37 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    void testThatPartialUpdateAuthorDoesNotLoadAuthorEntity() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        // Puts the author into the second-level cache
+        authorService.findById(authorA.getId());
+
+        AuthorDto authorDtoB = AuthorDto.builder()
+                .name("UPDATED")
+                .build();
+        String updatedAuthorJson = objectMapper.writeValueAsString(authorDtoB);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch(apiPath + "/" + authorA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updatedAuthorJson)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.name").value(authorDtoB.getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.birthdate").value(authorA.getBirthdate().toString())
+        );
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+        assertThat(statistics.getDomainDataRegionStatistics("authors").getHitCount()).isEqualTo(0);
+        assertThat(authorService.findById(authorA.getId()).map(AuthorEntity::getName).orElse(null))
+                .isEqualTo(authorDtoB.getName());
+    }
+
     @Test
     void testThatPartialUpdateAuthorReturnsHttpStatus404WhenAuthorDoesNotExists() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
@@ -344,6 +563,31 @@ public class AuthorControllerIntegrationTests {
         );
     }
 
+    @Test
+    void testThatDeleteAuthorsByIdsRejectsAuthorsWithBooks() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorB = authorService.create(TestDataUtil.createTestAuthorB());
+        bookService.create(TestDataUtil.createTestBookA(authorB));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete(apiPath)
+                        .param("ids", authorA.getId() + "," + authorB.getId() + "," + (authorB.getId() + 1000))
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].status").value("DELETED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].status").value("REJECTED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].error").value("Author with id " + authorB.getId() + " still has books")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].status").value("NOT_FOUND")
+        );
+
+        assertThat(authorService.isExists(authorA.getId())).isFalse();
+        assertThat(authorService.isExists(authorB.getId())).isTrue();
+    }
+
     @Test
     void testThatDeleteReturnsHttpStatus204WhenAuthorExists() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
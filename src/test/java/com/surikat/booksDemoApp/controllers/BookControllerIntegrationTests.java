@@ -1,206 +1,993 @@
 package com.surikat.booksDemoApp.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.surikat.booksDemoApp.QueryBudgetExtension;
 import com.surikat.booksDemoApp.TestDataUtil;
+import com.surikat.booksDemoApp.diagnostics.QueryStatsFilter;
+import com.surikat.booksDemoApp.domain.KeysetCursor;
 import com.surikat.booksDemoApp.domain.dto.BookDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.domain.entities.BookEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
 import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookSearchService;
 import com.surikat.booksDemoApp.services.BookService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.hamcrest.Matchers.not;
+
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureMockMvc
 public class BookControllerIntegrationTests {
 
-    private final String apiPath = "/books";
+    private final String apiPath = "/books";
+
+    @RegisterExtension
+    final QueryBudgetExtension queryBudget = new QueryBudgetExtension();
+
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final MockMvc mockMvc;
+    private final Mapper<BookEntity, BookDto> bookMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public BookControllerIntegrationTests(BookService bookService,
+                                          AuthorService authorService,
+                                          MockMvc mockMvc,
+                                          Mapper<BookEntity, BookDto> bookMapper,
+                                          ObjectMapper objectMapper,
+                                          EntityManagerFactory entityManagerFactory) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.mockMvc = mockMvc;
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    private void expectAuthor(ResultActions resultActions, String jsonPath, AuthorEntity author) throws Exception {
+        resultActions
+                .andExpect(
+                        MockMvcResultMatchers.jsonPath(jsonPath + ".id").value(author.getId())
+                ).andExpect(
+                        MockMvcResultMatchers.jsonPath(jsonPath + ".name").value(author.getName())
+                ).andExpect(
+                        MockMvcResultMatchers.jsonPath(
+                                jsonPath + ".birthdate").value(author.getBirthdate().toString())
+                );
+    }
+
+    @Test
+    void testThatCreateBookSuccessfullyReturnsHttp201Created() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        BookDto bookDtoA = bookMapper.mapTo(bookA);
+        String bookJson = objectMapper.writeValueAsString(bookDtoA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isCreated()
+        );
+    }
+
+    @Test
+    void testThatCreateBookWithExistingAuthorReturnsSavedBook() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        BookDto bookDtoA = bookMapper.mapTo(bookA);
+        String bookJson = objectMapper.writeValueAsString(bookDtoA);
+
+        ResultActions resultActions = mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookJson)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.id").isNumber()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value(bookA.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.description").value(bookA.getDescription())
+        );
+
+        expectAuthor(resultActions, "$.author", authorA);
+    }
+
+    @Test
+    void testThatCreateBooksBatchReturnsResultPerItem() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookDto bookDtoA = bookMapper.mapTo(TestDataUtil.createTestBookA(authorA));
+        BookDto bookDtoB = bookMapper.mapTo(TestDataUtil.createTestBookB(authorA));
+        bookDtoB.setTitle(null);
+        BookDto bookDtoC = bookMapper.mapTo(TestDataUtil.createTestBookC(authorA));
+        String booksJson = objectMapper.writeValueAsString(List.of(bookDtoA, bookDtoB, bookDtoC));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booksJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].item.id").isNumber()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].item.author.id").value(authorA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].status").value("REJECTED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].error").value("Book title is required")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].status").value("CREATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].item.title").value(bookDtoC.getTitle())
+        );
+
+        assertThat(bookService.findAll().size()).isEqualTo(2);
+    }
+
+    @Test
+    void testThatCreateBooksBatchRejectsUnknownAuthor() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA.setId(100L);
+
+        BookDto bookDtoA = bookMapper.mapTo(TestDataUtil.createTestBookA(authorA));
+        String booksJson = objectMapper.writeValueAsString(List.of(bookDtoA));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booksJson)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].status").value("REJECTED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].error").value("Author with id 100 does not exists")
+        );
+    }
+
+    @Test
+    void testThatPartialUpdateBooksBatchReturnsResultPerItem() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        String booksJson = objectMapper.writeValueAsString(List.of(
+                BookDto.builder().id(bookA.getId()).title("UPDATED").build(),
+                BookDto.builder().id(bookB.getId()).title("").build(),
+                BookDto.builder().id(bookB.getId() + 1000).title("UPDATED").build()));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch(apiPath + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booksJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].status").value("UPDATED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].item").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].status").value("REJECTED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].error").value("Book title is required")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].status").value("NOT_FOUND")
+        );
+
+        BookEntity updatedBookA = bookService.findById(bookA.getId()).orElseThrow();
+        assertThat(updatedBookA.getTitle()).isEqualTo("UPDATED");
+        assertThat(updatedBookA.getDescription()).isEqualTo(bookA.getDescription());
+        assertThat(bookService.findById(bookB.getId()).orElseThrow().getTitle()).isEqualTo(bookB.getTitle());
+    }
+
+    @Test
+    void testThatDeleteBooksByIdsReturnsResultPerId() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+        long missingId = bookB.getId() + 1000;
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.delete(apiPath)
+                        .param("ids", bookA.getId() + "," + missingId + "," + bookB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].status").value("DELETED")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].status").value("NOT_FOUND")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].item").value(missingId)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[2].status").value("DELETED")
+        );
+
+        assertThat(bookService.findAll().size()).isEqualTo(0);
+        assertThat(authorService.isExists(authorA.getId())).isTrue();
+    }
+
+    @Test
+    void testThatImportBooksReportsImportedAndRejectedRows() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        BookEntity existingBook = bookService.create(TestDataUtil.createTestBookA(authorA));
+
+        BookDto bookDtoB = bookMapper.mapTo(TestDataUtil.createTestBookB(authorA));
+        BookDto bookDtoC = bookMapper.mapTo(TestDataUtil.createTestBookC(authorA));
+        BookDto longTitleBook = bookMapper.mapTo(TestDataUtil.createTestBookC(authorA));
+        longTitleBook.setTitle("T".repeat(129));
+        String body = objectMapper.writeValueAsString(bookDtoB) + "\n" +
+                objectMapper.writeValueAsString(longTitleBook) + "\n" +
+                "{not json\n" +
+                objectMapper.writeValueAsString(bookDtoC) + "\n";
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/import")
+                        .contentType("application/x-ndjson")
+                        .content(body)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.processed").value(4)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.imported").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejected").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejects[0].row").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejects[0].error").value("Book title is longer than 128 characters")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejects[1].row").value(3)
+        );
+
+        assertThat(bookService.findAll().size()).isEqualTo(3);
+
+        // Imported ids come from the same sequence blocks Hibernate uses
+        BookEntity createdBook = bookService.create(TestDataUtil.createTestBookA(authorA));
+        assertThat(createdBook.getId()).isNotEqualTo(existingBook.getId());
+        assertThat(bookService.findAll().size()).isEqualTo(4);
+    }
+
+    @Test
+    void testThatImportBooksReadsCsvWithQuotedFields() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        String body = "title,description,author_id\n" +
+                "Book A,\"Multi\nline, \"\"quoted\"\"\"," + authorA.getId() + "\n" +
+                "Book B,Description of Book B,100\n";
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/import?format=csv")
+                        .contentType("text/csv")
+                        .content(body)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.imported").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejects[0].row").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.rejects[0].error").value("Author with id 100 does not exists")
+        );
+
+        List<BookEntity> books = bookService.findAll();
+        assertThat(books.size()).isEqualTo(1);
+        assertThat(books.get(0).getDescription()).isEqualTo("Multi\nline, \"quoted\"");
+    }
+
+    @Test
+    void testThatImportedBooksAreSuggested() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/import?format=csv")
+                        .contentType("text/csv")
+                        .content("title,description,author_id\nSolaris,Description of Solaris," + authorA.getId() + "\n")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.imported").value(1)
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=sol")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].value").value("Solaris")
+        );
+    }
+
+    @Test
+    void testThatImportBooksWithoutCsvHeaderReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.post(apiPath + "/import?format=csv")
+                        .contentType("text/csv")
+                        .content("Book A,Description of Book A,1\n")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksReturnsHttpStatus200() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksReturnsListOfAllBooksWhenTheyExist() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        bookA = bookService.create(bookA);
+
+        BookEntity bookB = TestDataUtil.createTestBookB(authorA);
+        bookB = bookService.create(bookB);
+
+        ResultActions resultActions = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.empty").value(false)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.numberOfElements").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value(bookA.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].description").value(bookA.getDescription())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].id").value(bookB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].title").value(bookB.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].description").value(bookB.getDescription())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[2]").doesNotExist()
+        );
+
+        expectAuthor(resultActions, "$.content[0].author", authorA);
+        expectAuthor(resultActions, "$.content[1].author", authorA);
+    }
+
+    @Test
+    void testThatGetAllBooksReturnsEmptyListWhenBooksDoNotExist() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.empty").value(true)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.numberOfElements").value(0)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(0)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0]").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksReturnsHttpStatus304WhenETagMatches() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        bookService.create(TestDataUtil.createTestBookA(authorA));
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.header().exists("ETag")
+        ).andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", eTag)
+        ).andExpect(
+                MockMvcResultMatchers.status().isNotModified()
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksRunsConstantNumberOfStatementsForFullPage() throws Exception {
+        for (int i = 0; i < 150; i++) {
+            AuthorEntity author = authorService.create(TestDataUtil.createTestAuthorA());
+            bookService.create(TestDataUtil.createTestBookA(author));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?size=100")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.numberOfElements").value(100)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[99].author.name").isString()
+        );
+
+        // One select for the page with its authors and one count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testThatGetBooksDoesNotLoadEntities() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.numberOfElements").value(2)
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testThatGetAllBooksReportsExactTotalByDefault() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        bookService.create(TestDataUtil.createTestBookA(authorA));
+        bookService.create(TestDataUtil.createTestBookB(authorA));
+        bookService.create(TestDataUtil.createTestBookC(authorA));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(3)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalExact").value(true)
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksWithoutTotalReturnsSlice() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?size=1&total=none")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.last").value(false)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksWithEstimatedTotalFallsBackToExactCountOnH2() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+        bookService.create(TestDataUtil.createTestBookA(authorA));
+        bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?size=1&total=estimated")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.totalExact").value(true)
+        );
+    }
+
+    @Test
+    void testThatGetAllBooksWithUnknownTotalModeReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?total=sometimes")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatGetBooksAfterCursorWalksThroughAllBooks() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+        BookEntity bookC = bookService.create(TestDataUtil.createTestBookC(authorA));
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].id").value(bookB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[2]").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").isString()
+        ).andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=" + nextCursor + "&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookC.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].title").value(bookC.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1]").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.last").value(true)
+        );
+    }
+
+    @Test
+    void testThatGetBooksAfterCursorSortsByTitle() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookC = bookService.create(TestDataUtil.createTestBookC(authorA));
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=&size=1&sort=title")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        ).andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=" + nextCursor + "&size=2")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookB.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[1].id").value(bookC.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatGetBooksAfterInvalidCursorReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "?after=not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatSearchBooksRanksTitleMatchesFirstAndPagesWithCursor() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity descriptionMatch = bookService.create(BookEntity.builder()
+                .title("Dune").description("A desert planet").author(authorA).build());
+        BookEntity titleMatch = bookService.create(BookEntity.builder()
+                .title("Desert Solitaire").description("A season in the wilderness").author(authorA).build());
+        bookService.create(BookEntity.builder()
+                .title("Solaris").description("An ocean planet").author(authorA).build());
+
+        MvcResult firstPage = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/search?q=Desert&size=1")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(titleMatch.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].author.name").value(authorA.getName())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").isString()
+        ).andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/search?q=desert&size=1&after=" + nextCursor)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(descriptionMatch.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist()
+        );
+    }
+
+    @Test
+    void testThatSearchBooksFollowsUpdatesAndDeletes() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        bookService.partialUpdate(bookA.getId(), BookEntity.builder().title("Solaris").build());
+        bookService.deleteAll(List.of(bookB.getId()));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/search?q=solaris")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/search?q=book")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
+        );
+    }
+
+    @Test
+    void testThatSearchBooksWithBlankQueryReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/search?q= ")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatSearchBooksWithNonNumericCursorScoreReturnsHttpStatus400() throws Exception {
+        String cursor = new KeysetCursor(BookSearchService.SORT_KEY, 1L, "high").encode();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/search?q=desert&after=" + cursor)
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatSuggestBooksMatchesTitlePrefixIgnoringCase() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        bookService.create(BookEntity.builder()
+                .title("Solaris").description("An ocean planet").author(authorA).build());
 
-    private final BookService bookService;
-    private final AuthorService authorService;
-    private final MockMvc mockMvc;
-    private final Mapper<BookEntity, BookDto> bookMapper;
-    private final ObjectMapper objectMapper;
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=bOOk")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(2)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].id").value(bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].value").value(bookA.getTitle())
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[1].id").value(bookB.getId())
+        );
+    }
 
-    @Autowired
-    public BookControllerIntegrationTests(BookService bookService,
-                                          AuthorService authorService,
-                                          MockMvc mockMvc,
-                                          Mapper<BookEntity, BookDto> bookMapper,
-                                          ObjectMapper objectMapper) {
-        this.bookService = bookService;
-        this.authorService = authorService;
-        this.mockMvc = mockMvc;
-        this.bookMapper = bookMapper;
-        this.objectMapper = objectMapper;
+    @Test
+    void testThatSuggestBooksFollowsUpdatesAndDeletes() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        bookService.partialUpdate(bookA.getId(), BookEntity.builder().title("Solaris").build());
+        bookService.deleteAll(List.of(bookB.getId()));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=sol")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$[0].value").value("Solaris")
+        );
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix=book")
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.length()").value(0)
+        );
     }
 
-    private void expectAuthor(ResultActions resultActions, String jsonPath, AuthorEntity author) throws Exception {
-        resultActions
-                .andExpect(
-                        MockMvcResultMatchers.jsonPath(jsonPath + ".id").value(author.getId())
-                ).andExpect(
-                        MockMvcResultMatchers.jsonPath(jsonPath + ".name").value(author.getName())
-                ).andExpect(
-                        MockMvcResultMatchers.jsonPath(
-                                jsonPath + ".birthdate").value(author.getBirthdate().toString())
-                );
+    @Test
+    void testThatSuggestBooksWithBlankPrefixReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/suggest?prefix= ")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
     }
 
     @Test
-    void testThatCreateBookSuccessfullyReturnsHttp201Created() throws Exception {
+    void testThatExportBooksStreamsOneJsonLinePerBook() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
         authorA = authorService.create(authorA);
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/export")
+        ).andExpect(
+                MockMvcResultMatchers.request().asyncStarted()
+        ).andReturn();
+
+        String content = mockMvc.perform(
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.content().contentType("application/x-ndjson")
+        ).andReturn().getResponse().getContentAsString();
+
+        String[] lines = content.split("\n");
+        assertThat(lines.length).isEqualTo(2);
+        assertThat(objectMapper.readValue(lines[0], BookDto.class)).isEqualTo(bookMapper.mapTo(bookA));
+        assertThat(objectMapper.readValue(lines[1], BookDto.class)).isEqualTo(bookMapper.mapTo(bookB));
+    }
 
+    @Test
+    void testThatExportBooksAsCsvQuotesFields() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
         BookEntity bookA = TestDataUtil.createTestBookA(authorA);
-        BookDto bookDtoA = bookMapper.mapTo(bookA);
-        String bookJson = objectMapper.writeValueAsString(bookDtoA);
+        bookA.setDescription("Short, \"quoted\"");
+        bookA = bookService.create(bookA);
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/export?format=csv")
+        ).andReturn();
 
         mockMvc.perform(
-                MockMvcRequestBuilders.post(apiPath)
+                MockMvcRequestBuilders.asyncDispatch(result)
+        ).andExpect(
+                MockMvcResultMatchers.content().string(
+                        "id,title,description,author_id,author_name,author_birthdate\n" +
+                        bookA.getId() + ",Book A,\"Short, \"\"quoted\"\"\"," +
+                        authorA.getId() + ",Author A,1910-01-18\n")
+        );
+    }
+
+    @Test
+    void testThatExportBooksWithUnknownFormatReturnsHttpStatus400() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/export?format=xml")
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatGetBookByIdReturnsHttpStatus200WhenBookExists() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        bookA = bookService.create(bookA);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(bookJson)
         ).andExpect(
-                MockMvcResultMatchers.status().isCreated()
+                MockMvcResultMatchers.status().isOk()
         );
     }
 
     @Test
-    void testThatCreateBookWithExistingAuthorReturnsSavedBook() throws Exception {
+    void testThatGetBookByIdReturnsBookWhenBookExists() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
         authorA = authorService.create(authorA);
 
         BookEntity bookA = TestDataUtil.createTestBookA(authorA);
-        BookDto bookDtoA = bookMapper.mapTo(bookA);
-        String bookJson = objectMapper.writeValueAsString(bookDtoA);
+        bookA = bookService.create(bookA);
 
-        ResultActions resultActions = mockMvc.perform(
-                MockMvcRequestBuilders.post(apiPath)
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(bookJson)
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.id").isNumber()
+                MockMvcResultMatchers.jsonPath("$.id").value(bookA.getId())
         ).andExpect(
                 MockMvcResultMatchers.jsonPath("$.title").value(bookA.getTitle())
         ).andExpect(
                 MockMvcResultMatchers.jsonPath("$.description").value(bookA.getDescription())
         );
-
-        expectAuthor(resultActions, "$.author", authorA);
     }
 
     @Test
-    void testThatGetAllBooksReturnsHttpStatus200() throws Exception {
+    void testThatGetBookByIdServesRepeatedRequestsFromCache() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        bookA = bookService.create(bookA);
+
         mockMvc.perform(
-                MockMvcRequestBuilders.get(apiPath)
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(
                 MockMvcResultMatchers.status().isOk()
         );
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.jsonPath("$.title").value(bookA.getTitle())
+        );
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
     }
 
     @Test
-    void testThatGetAllBooksReturnsListOfAllBooksWhenTheyExist() throws Exception {
+    void testThatGetBookByIdReturnsUpdatedAuthorAfterAuthorUpdate() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
         authorA = authorService.create(authorA);
 
         BookEntity bookA = TestDataUtil.createTestBookA(authorA);
         bookA = bookService.create(bookA);
 
-        BookEntity bookB = TestDataUtil.createTestBookB(authorA);
-        bookB = bookService.create(bookB);
-
-        ResultActions resultActions = mockMvc.perform(
-                MockMvcRequestBuilders.get(apiPath)
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.empty").value(false)
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.numberOfElements").value(2)
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.totalElements").value(2)
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[0].id").value(bookA.getId())
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[0].title").value(bookA.getTitle())
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[0].description").value(bookA.getDescription())
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[1].id").value(bookB.getId())
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[1].title").value(bookB.getTitle())
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[1].description").value(bookB.getDescription())
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[2]").doesNotExist()
+                MockMvcResultMatchers.jsonPath("$.author.name").value(authorA.getName())
         );
 
-        expectAuthor(resultActions, "$.content[0].author", authorA);
-        expectAuthor(resultActions, "$.content[1].author", authorA);
-    }
+        authorService.partialUpdate(authorA.getId(), AuthorEntity.builder().name("UPDATED").build());
 
-    @Test
-    void testThatGetAllBooksReturnsEmptyListWhenBooksDoNotExist() throws Exception {
         mockMvc.perform(
-                MockMvcRequestBuilders.get(apiPath)
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.empty").value(true)
-        ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.numberOfElements").value(0)
+                MockMvcResultMatchers.jsonPath("$.author.name").value("UPDATED")
+        );
+    }
+
+    @Test
+    void testThatAuthorUpdateKeepsBooksOfOtherAuthorsCached() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        AuthorEntity authorB = authorService.create(TestDataUtil.createTestAuthorB());
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorB));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookB.getId())
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.totalElements").value(0)
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        authorService.partialUpdate(authorA.getId(), AuthorEntity.builder().name("UPDATED").build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookB.getId())
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.content[0]").doesNotExist()
+                MockMvcResultMatchers.jsonPath("$.author.name").value(authorB.getName())
         );
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
     }
 
     @Test
-    void testThatGetBookByIdReturnsHttpStatus200WhenBookExists() throws Exception {
+    void testThatGetBookByIdReturnsHttpStatus304WhenETagMatches() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
         authorA = authorService.create(authorA);
 
         BookEntity bookA = TestDataUtil.createTestBookA(authorA);
         bookA = bookService.create(bookA);
 
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(
+                MockMvcResultMatchers.header().exists("ETag")
+        ).andExpect(
+                MockMvcResultMatchers.header().exists("Last-Modified")
+        ).andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
         mockMvc.perform(
                 MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", eTag)
         ).andExpect(
-                MockMvcResultMatchers.status().isOk()
+                MockMvcResultMatchers.status().isNotModified()
+        ).andExpect(
+                MockMvcResultMatchers.content().string("")
         );
     }
 
     @Test
-    void testThatGetBookByIdReturnsBookWhenBookExists() throws Exception {
+    void testThatGetBookByIdReturnsNewETagAfterAuthorUpdate() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
         authorA = authorService.create(authorA);
 
         BookEntity bookA = TestDataUtil.createTestBookA(authorA);
         bookA = bookService.create(bookA);
 
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        authorService.partialUpdate(authorA.getId(), AuthorEntity.builder().name("UPDATED").build());
+
         mockMvc.perform(
                 MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
                         .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-None-Match", eTag)
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.id").value(bookA.getId())
+                MockMvcResultMatchers.status().isOk()
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.title").value(bookA.getTitle())
+                MockMvcResultMatchers.header().string("ETag", not(eTag))
         ).andExpect(
-                MockMvcResultMatchers.jsonPath("$.description").value(bookA.getDescription())
+                MockMvcResultMatchers.jsonPath("$.author.name").value("UPDATED")
         );
     }
 
@@ -433,6 +1220,103 @@ public class BookControllerIntegrationTests {
         expectAuthor(resultActions, "$.author", authorB);
     }
 
+    @Test
+    void testThatPartialUpdateBookWithUnknownAuthorReturnsHttpStatus400() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        bookA = bookService.create(bookA);
+
+        String updatedBookJson = "{\"author\":{\"id\":" + (authorA.getId() + 1000) + "}}";
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updatedBookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isBadRequest()
+        );
+    }
+
+    @Test
+    void testThatGetBookByIdStaysWithinQueryBudget() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        queryBudget.reset();
+
+        // Version check, then the DTO projection with the author joined in
+        mockMvc.perform(
+                MockMvcRequestBuilders.get(apiPath + "/" + bookA.getId())
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        ).andExpect(
+                MockMvcResultMatchers.header().string(QueryStatsFilter.STATEMENTS_HEADER, "2")
+        ).andExpect(
+                MockMvcResultMatchers.header().string(QueryStatsFilter.ROWS_HEADER, "2")
+        );
+
+        queryBudget.assertStatementsAtMost(2);
+    }
+
+    @Test
+    void testThatPartialUpdateBookStaysWithinQueryBudget() throws Exception {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        queryBudget.reset();
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"UPDATED\"}")
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        // Update and re-select on H2, then one refresh each for the search and suggest indexes
+        queryBudget.assertStatementsAtMost(4);
+    }
+
+    @Test
+    void testThatPartialUpdateBookTitleReordersCachedPage() {
+        AuthorEntity authorA = authorService.create(TestDataUtil.createTestAuthorA());
+        BookEntity bookA = bookService.create(TestDataUtil.createTestBookA(authorA));
+        BookEntity bookB = bookService.create(TestDataUtil.createTestBookB(authorA));
+        PageRequest byTitle = PageRequest.of(0, 10, Sort.by("title"));
+
+        assertThat(bookService.findAll(byTitle).map(BookEntity::getId).getContent())
+                .isEqualTo(List.of(bookA.getId(), bookB.getId()));
+
+        bookService.partialUpdate(bookA.getId(), BookEntity.builder().title("Z").build());
+
+        assertThat(bookService.findAll(byTitle).map(BookEntity::getId).getContent())
+                .isEqualTo(List.of(bookB.getId(), bookA.getId()));
+    }
+
+    @Test
+    void testThatFullUpdateBookEvictsBookFromSecondLevelCache() throws Exception {
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA = authorService.create(authorA);
+
+        BookEntity bookA = TestDataUtil.createTestBookA(authorA);
+        bookA = bookService.create(bookA);
+        bookService.findById(bookA.getId());
+
+        BookEntity bookB = TestDataUtil.createTestBookB(authorA);
+        String updatedBookJson = objectMapper.writeValueAsString(bookMapper.mapTo(bookB));
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put(apiPath + "/" + bookA.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updatedBookJson)
+        ).andExpect(
+                MockMvcResultMatchers.status().isOk()
+        );
+
+        assertThat(bookService.findById(bookA.getId()).map(BookEntity::getTitle).orElse(null))
+                .isEqualTo(bookB.getTitle());
+    }
+
     @Test
     void testThatPartialUpdateAuthorReturnsHttpStatus404WhenAuthorDoesNotExists() throws Exception {
         AuthorEntity authorA = TestDataUtil.createTestAuthorA();
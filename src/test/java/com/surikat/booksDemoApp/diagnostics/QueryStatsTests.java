@@ -0,0 +1,46 @@
+package com.surikat.booksDemoApp.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryStatsTests {
+
+    @Test
+    void testThatShapeIgnoresLiteralsAndInListLength() {
+        assertThat(QueryStats.shape("select b1_0.id from books b1_0 where b1_0.id in (?, ?, ?) and title = 'it''s'"))
+                .isEqualTo("select b1_0.id from books b1_0 where b1_0.id in (?) and title = ?");
+        assertThat(QueryStats.shape("select *\n  from authors where id = 42"))
+                .isEqualTo("select * from authors where id = ?");
+    }
+
+    @Test
+    void testThatRepeatedShapesAreReportedAboveThreshold() {
+        try (QueryStats stats = QueryStats.start()) {
+            for (long id = 1; id <= 3; id++) {
+                QueryStats.recordStatement("select * from authors where id = " + id, 1_000, 1);
+            }
+            QueryStats.recordStatement("select * from books", 1_000, 0);
+
+            assertThat(stats.getStatements()).isEqualTo(4);
+            assertThat(stats.getRows()).isEqualTo(3);
+            assertThat(stats.getRepeatedShapes(2)).isEqualTo(Map.of("select * from authors where id = ?", 3));
+        }
+    }
+
+    @Test
+    void testThatNestedScopeAlsoCountsTowardsEnclosingScope() {
+        try (QueryStats outer = QueryStats.start()) {
+            try (QueryStats inner = QueryStats.start()) {
+                QueryStats.recordStatement("select 1", 1_000, 1);
+                assertThat(inner.getStatements()).isEqualTo(1);
+            }
+            QueryStats.recordStatement("select 1", 1_000, 1);
+
+            assertThat(outer.getStatements()).isEqualTo(2);
+        }
+        assertThat(QueryStats.isActive()).isFalse();
+    }
+}
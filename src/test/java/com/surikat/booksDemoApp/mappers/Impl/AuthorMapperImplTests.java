@@ -5,7 +5,6 @@ import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -13,14 +12,14 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {ModelMapper.class})
+@ContextConfiguration(classes = {AuthorMapperImpl.class})
 class AuthorMapperImplTests {
 
     private final AuthorMapperImpl underTest;
 
     @Autowired
-    public AuthorMapperImplTests(ModelMapper modelMapper) {
-        this.underTest = new AuthorMapperImpl(modelMapper);
+    public AuthorMapperImplTests(AuthorMapperImpl underTest) {
+        this.underTest = underTest;
     }
 
     @Test
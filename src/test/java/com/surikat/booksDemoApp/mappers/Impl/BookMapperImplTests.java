@@ -8,23 +8,27 @@ import com.surikat.booksDemoApp.domain.entities.BookEntity;
 import com.surikat.booksDemoApp.mappers.Mapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {ModelMapper.class, AuthorMapperImpl.class})
+@ContextConfiguration(classes = {AuthorMapperImpl.class, BookMapperImpl.class})
 class BookMapperImplTests {
 
     private final BookMapperImpl underTest;
     private final Mapper<AuthorEntity, AuthorDto> authorMapper;
 
     @Autowired
-    public BookMapperImplTests(ModelMapper modelMapper, AuthorMapperImpl authorMapper) {
-        this.underTest = new BookMapperImpl(modelMapper);
+    public BookMapperImplTests(BookMapperImpl underTest, AuthorMapperImpl authorMapper) {
+        this.underTest = underTest;
         this.authorMapper = authorMapper;
     }
 
@@ -106,4 +110,42 @@ class BookMapperImplTests {
                 .ignoringFields("id")
                 .isEqualTo(realBook);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testThatMapFromLeavesMissingPropertiesNull() {
+        //given
+        BookDto bookDto = BookDto.builder()
+                .title("UPDATED")
+                .build();
+
+        //when
+        BookEntity mappedBook = underTest.mapFrom(bookDto);
+
+        //then
+        assertThat(mappedBook.getTitle()).isEqualTo("UPDATED");
+        assertThat(mappedBook.getId()).isNull();
+        assertThat(mappedBook.getDescription()).isNull();
+        assertThat(mappedBook.getAuthor()).isNull();
+    }
+
+    @Test
+    void testThatMapAllMapsPageContentAndKeepsPaging() {
+        //given
+        AuthorEntity author = TestDataUtil.createTestAuthorA();
+        author.setId(1L);
+        BookEntity bookA = TestDataUtil.createTestBookA(author);
+        bookA.setId(1L);
+        BookEntity bookB = TestDataUtil.createTestBookB(author);
+        bookB.setId(2L);
+        Page<BookEntity> page = new PageImpl<>(List.of(bookA, bookB), PageRequest.of(0, 2), 10);
+
+        //when
+        Page<BookDto> mappedPage = underTest.mapAll(page);
+
+        //then
+        assertThat(mappedPage.getTotalElements()).isEqualTo(10);
+        assertThat(mappedPage.getPageable()).isEqualTo(page.getPageable());
+        assertThat(mappedPage.getContent().get(0)).usingRecursiveComparison().isEqualTo(bookA);
+        assertThat(mappedPage.getContent().get(1)).usingRecursiveComparison().isEqualTo(bookB);
+    }
+}
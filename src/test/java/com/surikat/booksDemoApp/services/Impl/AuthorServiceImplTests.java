@@ -1,14 +1,21 @@
 package com.surikat.booksDemoApp.services.Impl;
 
 import com.surikat.booksDemoApp.TestDataUtil;
+import com.surikat.booksDemoApp.domain.AuthorsChangedEvent;
+import com.surikat.booksDemoApp.domain.BatchItemResult;
+import com.surikat.booksDemoApp.domain.dto.AuthorDto;
 import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
 import com.surikat.booksDemoApp.repositories.AuthorRepository;
+import com.surikat.booksDemoApp.repositories.BookRepository;
+import com.surikat.booksDemoApp.services.TotalCountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -17,8 +24,10 @@ import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -27,11 +36,20 @@ class AuthorServiceImplTests {
 
     @Mock
     private AuthorRepository authorRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private TotalCountService totalCountService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CacheManager cacheManager;
     private AuthorServiceImpl underTest;
 
     @BeforeEach
     void setUp() {
-        underTest = new AuthorServiceImpl(authorRepository);
+        underTest = new AuthorServiceImpl(authorRepository, bookRepository, totalCountService, eventPublisher,
+                cacheManager);
     }
 
     @Test
@@ -55,6 +73,23 @@ class AuthorServiceImplTests {
         assertThat(returnedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
     }
 
+    @Test
+    void testThatCreateAuthorPublishesAuthorsChangedEvent() {
+        //given
+        AuthorEntity expectedAuthor = TestDataUtil.createTestAuthorA();
+        expectedAuthor.setId(1L);
+        given(authorRepository.save(any(AuthorEntity.class))).willReturn(expectedAuthor);
+
+        //when
+        underTest.create(TestDataUtil.createTestAuthorA());
+
+        //then
+        ArgumentCaptor<AuthorsChangedEvent> eventArgumentCaptor = ArgumentCaptor.forClass(AuthorsChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventArgumentCaptor.capture());
+
+        assertThat(eventArgumentCaptor.getValue().getIds()).isEqualTo(List.of(1L));
+    }
+
     @Test
     void testThatCreateAuthorWithIdCreatesCorrectAuthor() {
         //given
@@ -79,6 +114,32 @@ class AuthorServiceImplTests {
         assertThat(returnedAuthor).usingRecursiveComparison().isEqualTo(expectedReturnedAuthor);
     }
 
+    @Test
+    void testThatCreateAllSavesOnlyValidAuthors() {
+        //given
+        AuthorEntity authorA = TestDataUtil.createTestAuthorA();
+        authorA.setId(1L);
+        AuthorEntity authorB = TestDataUtil.createTestAuthorB();
+        authorB.setName(" ");
+        AuthorEntity authorC = TestDataUtil.createTestAuthorC();
+
+        //when
+        List<BatchItemResult<AuthorEntity>> results = underTest.createAll(List.of(authorA, authorB, authorC));
+
+        //then
+        ArgumentCaptor<List<AuthorEntity>> authorsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(authorRepository, times(1)).saveAll(authorsArgumentCaptor.capture());
+        List<AuthorEntity> capturedAuthors = authorsArgumentCaptor.getValue();
+
+        assertThat(capturedAuthors.size()).isEqualTo(2);
+        assertThat(capturedAuthors.get(0).getId()).isNull();
+        assertThat(capturedAuthors.get(1)).isSameAs(authorC);
+        assertThat(results.get(0).getStatus()).isEqualTo(BatchItemResult.Status.CREATED);
+        assertThat(results.get(1).getStatus()).isEqualTo(BatchItemResult.Status.REJECTED);
+        assertThat(results.get(1).getError()).isEqualTo("Author name is required");
+        assertThat(results.get(2).getItem()).isSameAs(authorC);
+    }
+
     @Test
     void testThatFindAllReturnsListOfAllAuthorsWhenTheyExist() {
         //given
@@ -194,102 +255,61 @@ class AuthorServiceImplTests {
     }
 
     @Test
-    void testThatFullUpdateUpdatesAuthor() {
+    void testThatFullUpdateUpdatesAllFieldsOfAuthor() {
         //given
         long updatedAuthorId = 1L;
-        long differentId = 2L;
 
         AuthorEntity author = TestDataUtil.createTestAuthorA();
-        author.setId(differentId);
-        AuthorEntity expectedAuthor = TestDataUtil.createTestAuthorA();
-        expectedAuthor.setId(updatedAuthorId);
+        AuthorDto expectedAuthor = new AuthorDto(updatedAuthorId, author.getName(), author.getBirthdate());
 
-        given(authorRepository.save(any(AuthorEntity.class))).willReturn(expectedAuthor);
+        given(authorRepository.updateFields(anyLong(), any(AuthorEntity.class), anyBoolean()))
+                .willReturn(Optional.of(expectedAuthor));
 
         //when
-        AuthorEntity returnedAuthor = underTest.fullUpdate(updatedAuthorId, author);
+        Optional<AuthorDto> returnedAuthor = underTest.fullUpdate(updatedAuthorId, author);
 
         //then
-        ArgumentCaptor<AuthorEntity> authorArgumentCaptor = ArgumentCaptor.forClass(AuthorEntity.class);
-        verify(authorRepository, times(1)).save(authorArgumentCaptor.capture());
-        AuthorEntity capturedAuthor = authorArgumentCaptor.getValue();
+        verify(authorRepository, times(1)).updateFields(updatedAuthorId, author, false);
+        verify(authorRepository, never()).findById(anyLong());
+        verify(authorRepository, never()).save(any(AuthorEntity.class));
 
-        assertThat(capturedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
-        assertThat(returnedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
+        assertThat(returnedAuthor).isEqualTo(Optional.of(expectedAuthor));
     }
 
     @Test
-    void testThatPartialUpdateUpdatesNameOfAuthor() {
+    void testThatPartialUpdateUpdatesOnlyGivenFieldsOfAuthor() {
         //given
         long updatedAuthorId = 1L;
-        long differentId = 2L;
 
-        AuthorEntity author = TestDataUtil.createTestAuthorA();
-        author.setId(updatedAuthorId);
+        AuthorEntity givenAuthor = AuthorEntity.builder().name("UPDATED").build();
+        AuthorDto expectedAuthor = new AuthorDto(updatedAuthorId, "UPDATED",
+                TestDataUtil.createTestAuthorA().getBirthdate());
 
-        AuthorEntity givenAuthor = TestDataUtil.createTestAuthorA();
-        givenAuthor.setId(differentId);
-        givenAuthor.setName("UPDATED");
-
-        AuthorEntity expectedAuthor = TestDataUtil.createTestAuthorA();
-        expectedAuthor.setId(updatedAuthorId);
-        expectedAuthor.setName("UPDATED");
-
-        given(authorRepository.save(any(AuthorEntity.class))).willReturn(expectedAuthor);
-        given(authorRepository.findById(anyLong())).willReturn(Optional.of(author));
+        given(authorRepository.updateFields(anyLong(), any(AuthorEntity.class), anyBoolean()))
+                .willReturn(Optional.of(expectedAuthor));
 
         //when
-        AuthorEntity returnedAuthor = underTest.partialUpdate(updatedAuthorId, givenAuthor);
+        Optional<AuthorDto> returnedAuthor = underTest.partialUpdate(updatedAuthorId, givenAuthor);
 
         //then
-        ArgumentCaptor<AuthorEntity> authorArgumentCaptor = ArgumentCaptor.forClass(AuthorEntity.class);
-        verify(authorRepository, times(1)).save(authorArgumentCaptor.capture());
-        AuthorEntity capturedAuthor = authorArgumentCaptor.getValue();
-
-        ArgumentCaptor<Long> idArgumentCaptor = ArgumentCaptor.forClass(Long.class);
-        verify(authorRepository, times(1)).findById(idArgumentCaptor.capture());
-        Long capturedId = idArgumentCaptor.getValue();
+        verify(authorRepository, times(1)).updateFields(updatedAuthorId, givenAuthor, true);
+        verify(authorRepository, never()).findById(anyLong());
+        verify(authorRepository, never()).save(any(AuthorEntity.class));
 
-        assertThat(capturedId).isEqualTo(updatedAuthorId);
-        assertThat(capturedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
-        assertThat(returnedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
+        assertThat(returnedAuthor).isEqualTo(Optional.of(expectedAuthor));
     }
 
     @Test
-    void testThatPartialUpdateUpdatesBirthdateOfAuthor() {
+    void testThatPartialUpdateReturnsEmptyWhenAuthorDoesNotExist() {
         //given
-        long updatedAuthorId = 1L;
-        long differentId = 2L;
-
-        AuthorEntity author = TestDataUtil.createTestAuthorA();
-        author.setId(updatedAuthorId);
-
-        AuthorEntity givenAuthor = TestDataUtil.createTestAuthorA();
-        givenAuthor.setId(differentId);
-        givenAuthor.setBirthdate(author.getBirthdate().plusYears(10));
-
-        AuthorEntity expectedAuthor = TestDataUtil.createTestAuthorA();
-        expectedAuthor.setId(updatedAuthorId);
-        expectedAuthor.setBirthdate(author.getBirthdate().plusYears(10));
-
-        given(authorRepository.save(any(AuthorEntity.class))).willReturn(expectedAuthor);
-        given(authorRepository.findById(anyLong())).willReturn(Optional.of(author));
+        given(authorRepository.updateFields(anyLong(), any(AuthorEntity.class), anyBoolean()))
+                .willReturn(Optional.empty());
 
         //when
-        AuthorEntity returnedAuthor = underTest.partialUpdate(updatedAuthorId, givenAuthor);
+        Optional<AuthorDto> returnedAuthor = underTest.partialUpdate(1L, AuthorEntity.builder().name("UPDATED").build());
 
         //then
-        ArgumentCaptor<AuthorEntity> authorArgumentCaptor = ArgumentCaptor.forClass(AuthorEntity.class);
-        verify(authorRepository, times(1)).save(authorArgumentCaptor.capture());
-        AuthorEntity capturedAuthor = authorArgumentCaptor.getValue();
-
-        ArgumentCaptor<Long> idArgumentCaptor = ArgumentCaptor.forClass(Long.class);
-        verify(authorRepository, times(1)).findById(idArgumentCaptor.capture());
-        Long capturedId = idArgumentCaptor.getValue();
-
-        assertThat(capturedId).isEqualTo(updatedAuthorId);
-        assertThat(capturedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
-        assertThat(returnedAuthor).usingRecursiveComparison().isEqualTo(expectedAuthor);
+        assertThat(returnedAuthor).isEqualTo(Optional.empty());
     }
 
     @Test
@@ -0,0 +1,73 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.services.DatasetGeneratorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Small chunks so that every run spans several of them
+@SpringBootTest(properties = "app.seed.chunk-size=300")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class DatasetGeneratorServiceImplIntegrationTests {
+
+    private static final int AUTHORS = 50;
+    private static final long BOOKS = 2_000;
+
+    private final DatasetGeneratorService datasetGeneratorService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DatasetGeneratorServiceImplIntegrationTests(DatasetGeneratorService datasetGeneratorService,
+                                                       JdbcTemplate jdbcTemplate) {
+        this.datasetGeneratorService = datasetGeneratorService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void testThatGeneratedDatasetHasRequestedSizeAndSkewedAuthors() {
+        datasetGeneratorService.generate(AUTHORS, BOOKS, 7);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isEqualTo(AUTHORS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from books", Long.class)).isEqualTo(BOOKS);
+        assertThat(jdbcTemplate.queryForObject(
+                "select max(length(title)) from books", Integer.class))
+                .isLessThanOrEqualTo(BookConstraints.TITLE_LENGTH);
+        assertThat(jdbcTemplate.queryForObject(
+                "select max(length(description)) from books", Integer.class))
+                .isLessThanOrEqualTo(BookConstraints.DESCRIPTION_LENGTH);
+
+        // With the default skew the most popular author has several times the average share of books
+        long topAuthorBooks = jdbcTemplate.queryForObject(
+                "select max(c) from (select count(*) as c from books group by author_id) t", Long.class);
+        assertThat(topAuthorBooks).isGreaterThan(4 * BOOKS / AUTHORS);
+    }
+
+    @Test
+    void testThatSameSeedGivesSameRows() {
+        datasetGeneratorService.generate(AUTHORS, BOOKS, 7);
+        List<String> first = fingerprint();
+
+        jdbcTemplate.update("delete from books");
+        jdbcTemplate.update("delete from authors");
+        datasetGeneratorService.generate(AUTHORS, BOOKS, 7);
+        List<String> second = fingerprint();
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    // Ids move on with the sequences, so rows are compared by position
+    private List<String> fingerprint() {
+        return jdbcTemplate.queryForList(
+                "select concat(b.title, '|', b.description, '|', a.name, '|', a.birthdate) " +
+                        "from books b join authors a on a.id = b.author_id order by b.id", String.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.surikat.booksDemoApp.services.Impl;
+
+import com.surikat.booksDemoApp.TestDataUtil;
+import com.surikat.booksDemoApp.domain.DataFormat;
+import com.surikat.booksDemoApp.domain.ImportReport;
+import com.surikat.booksDemoApp.domain.entities.AuthorEntity;
+import com.surikat.booksDemoApp.services.AuthorService;
+import com.surikat.booksDemoApp.services.BookService;
+import com.surikat.booksDemoApp.services.ImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.import.chunk-size=2")
+@ExtendWith(SpringExtension.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ImportServiceImplIntegrationTests {
+
+    private final ImportService importService;
+    private final AuthorService authorService;
+    private final BookService bookService;
+
+    @Autowired
+    public ImportServiceImplIntegrationTests(ImportService importService,
+                                             AuthorService authorService,
+                                             BookService bookService) {
+        this.importService = importService;
+        this.authorService = authorService;
+        this.bookService = bookService;
+    }
+
+    @Test
+    void testThatBrokenUploadKeepsCommittedChunks() {
+        AuthorEntity author = authorService.create(TestDataUtil.createTestAuthorA());
+        String rows = "title,description,author_id\n" +
+                "Book A,Description of Book A," + author.getId() + "\n" +
+                "Book B,Description of Book B," + author.getId() + "\n" +
+                "Book C,Description of Book C," + author.getId() + "\n";
+        // The client goes away in the middle of the second chunk
+        InputStream body = new SequenceInputStream(
+                new ByteArrayInputStream(rows.getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                });
+
+        ImportReport report = importService.importBooks(DataFormat.CSV, body);
+
+        assertThat(report.getProcessed()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getError()).isEqualTo("Import stopped at row 3, the rows before it are committed");
+        assertThat(bookService.findAll().size()).isEqualTo(2);
+    }
+}